@@ -0,0 +1,104 @@
+package com.exam.examserver.cache;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Immutable answer key of a quiz: its grading and delivery metadata and the normalized
+ * (trimmed) correct answer and the option texts of each question, indexed by question id.
+ * The question ids are also kept as a sorted array, which question sampling draws from.
+ */
+public class AnswerKey {
+
+	private final Long quizId;
+	private final String quizTitle;
+	private final Integer maxMarks;
+	private final Integer numberOfQuestions;
+	private final Map<Long, String> answers;
+	private final Map<Long, String[]> options;
+	private final long[] questionIds;
+
+	/**
+	 * @param options the option texts of each question, {@code option1} first
+	 */
+	public AnswerKey(Long quizId, String quizTitle, Integer maxMarks, Integer numberOfQuestions,
+			Map<Long, String> answers, Map<Long, String[]> options) {
+		this.quizId = quizId;
+		this.quizTitle = quizTitle;
+		this.maxMarks = maxMarks;
+		this.numberOfQuestions = numberOfQuestions;
+		this.answers = Map.copyOf(answers);
+		this.options = Map.copyOf(options);
+		this.questionIds = answers.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+	}
+
+	public Long getQuizId() {
+		return quizId;
+	}
+
+	public String getQuizTitle() {
+		return quizTitle;
+	}
+
+	public Integer getMaxMarks() {
+		return maxMarks;
+	}
+
+	public Integer getNumberOfQuestions() {
+		return numberOfQuestions;
+	}
+
+	/**
+	 * @return the number of questions in the bank
+	 */
+	public int size() {
+		return questionIds.length;
+	}
+
+	/**
+	 * @return the id of the question at the given position of the sorted id array
+	 */
+	public long questionIdAt(int index) {
+		return questionIds[index];
+	}
+
+	/**
+	 * @return a copy of the sorted question ids
+	 */
+	public long[] getQuestionIds() {
+		return Arrays.copyOf(questionIds, questionIds.length);
+	}
+
+	public Map<Long, String> getAnswers() {
+		return answers;
+	}
+
+	/**
+	 * @return the normalized answer of the question, or {@code null} if it does not belong to this quiz
+	 */
+	public String getAnswer(Long questionId) {
+		return answers.get(questionId);
+	}
+
+	/**
+	 * Resolves a 1-based option index to the option text, the form answers are graded and stored in.
+	 *
+	 * @return the option text, or {@code null} if the question is unknown, the index is out of range
+	 *         or the option is empty
+	 */
+	public String getOption(Long questionId, int index) {
+		String[] texts = options.get(questionId);
+		if (texts == null || index < 1 || index > texts.length) {
+			return null;
+		}
+		return texts[index - 1];
+	}
+
+	public boolean contains(Long questionId) {
+		return answers.containsKey(questionId);
+	}
+
+	public static String normalize(String answer) {
+		return answer == null ? null : answer.trim();
+	}
+}
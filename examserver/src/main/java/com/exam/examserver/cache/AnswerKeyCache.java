@@ -0,0 +1,101 @@
+package com.exam.examserver.cache;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.exam.examserver.monitoring.MetricsSource;
+import com.exam.examserver.repository.QuestionRepository;
+
+/**
+ * In-memory cache of quiz answer keys, keyed by quiz id.
+ *
+ * <p>Answer keys rarely change during an exam window, so grading reads them from here
+ * instead of MySQL. Every write to a quiz or its questions must call {@link #evict(Long)}.</p>
+ */
+@Component
+public class AnswerKeyCache implements MetricsSource {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(AnswerKeyCache.class);
+
+	@Autowired
+	private QuestionRepository questionRepository;
+
+	private final LruCache<Long, AnswerKey> cache;
+
+	public AnswerKeyCache(@Value("${exam.grading.answer-key-cache.max-size:256}") int maxSize) {
+		this.cache = new LruCache<>(maxSize, 0);
+	}
+
+	/**
+	 * Returns the answer key of a quiz, loading it with a single projection query on a miss.
+	 *
+	 * @param quizId the quiz id
+	 * @return the answer key, or {@code null} if the quiz has no questions
+	 */
+	public AnswerKey get(Long quizId) {
+		return cache.get(quizId, this::load);
+	}
+
+	/**
+	 * Drops the cached answer key of a quiz. Safe to call with a {@code null} id.
+	 * <p>
+	 * When called inside a transaction the key is evicted again after commit, so a
+	 * concurrent grading request cannot re-cache the answers being replaced.
+	 * </p>
+	 */
+	public void evict(Long quizId) {
+		if (quizId == null) {
+			return;
+		}
+		remove(quizId);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					remove(quizId);
+				}
+			});
+		}
+	}
+
+	private void remove(Long quizId) {
+		if (cache.remove(quizId) != null) {
+			LOGGER.debug("Evicted answer key for quiz ID {}", quizId);
+		}
+	}
+
+	private AnswerKey load(Long quizId) {
+		List<Object[]> rows = questionRepository.findAnswerKeyRowsByQuizId(quizId);
+		if (rows.isEmpty()) {
+			return null;
+		}
+		Map<Long, String> answers = new HashMap<>(rows.size() * 2);
+		Map<Long, String[]> options = new HashMap<>(rows.size() * 2);
+		for (Object[] row : rows) {
+			answers.put((Long) row[0], AnswerKey.normalize((String) row[1]));
+			options.put((Long) row[0], new String[] { (String) row[5], (String) row[6], (String) row[7], (String) row[8] });
+		}
+		Object[] first = rows.get(0);
+		LOGGER.debug("Loaded answer key for quiz ID {} with {} questions", quizId, answers.size());
+		return new AnswerKey(quizId, (String) first[2], (Integer) first[3], (Integer) first[4], answers, options);
+	}
+
+	@Override
+	public String getMetricsName() {
+		return "answerKeyCache";
+	}
+
+	@Override
+	public Map<String, Object> getMetrics() {
+		return cache.stats();
+	}
+}
@@ -0,0 +1,149 @@
+package com.exam.examserver.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.exam.examserver.monitoring.MetricsSource;
+import com.exam.examserver.repository.CategoryRepository;
+
+/**
+ * Read model of quiz counts per category, total and active, loaded with one grouped query.
+ *
+ * <p>The counts are cached as a single immutable snapshot. Every write to a quiz or a
+ * category must call {@link #evict()}; a snapshot loaded concurrently with an eviction is
+ * discarded rather than cached, so stale counts cannot outlive the write.</p>
+ */
+@Component
+public class CategoryQuizCountCache implements MetricsSource {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(CategoryQuizCountCache.class);
+
+	/**
+	 * Quiz counts of one category.
+	 */
+	public static final class Entry {
+
+		private final Long categoryId;
+		private final String categoryTitle;
+		private final int quizCount;
+		private final int activeQuizCount;
+
+		Entry(Long categoryId, String categoryTitle, int quizCount, int activeQuizCount) {
+			this.categoryId = categoryId;
+			this.categoryTitle = categoryTitle;
+			this.quizCount = quizCount;
+			this.activeQuizCount = activeQuizCount;
+		}
+
+		public Long getCategoryId() {
+			return categoryId;
+		}
+
+		public String getCategoryTitle() {
+			return categoryTitle;
+		}
+
+		public int getQuizCount() {
+			return quizCount;
+		}
+
+		public int getActiveQuizCount() {
+			return activeQuizCount;
+		}
+	}
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	private volatile List<Entry> snapshot;
+	private final AtomicLong generation = new AtomicLong();
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong loads = new AtomicLong();
+	private final AtomicLong evictions = new AtomicLong();
+
+	/**
+	 * @return the quiz counts of every category, ordered by category title; never modified
+	 */
+	public List<Entry> get() {
+		List<Entry> current = snapshot;
+		if (current != null) {
+			hits.incrementAndGet();
+			return current;
+		}
+
+		long loadGeneration = generation.get();
+		List<Entry> loaded = load();
+		synchronized (this) {
+			// Only cache if no write evicted the counts while they were being read
+			if (generation.get() == loadGeneration) {
+				snapshot = loaded;
+			}
+		}
+		return loaded;
+	}
+
+	/**
+	 * Drops the cached counts. When called inside a transaction they are dropped again after
+	 * commit, so a concurrent read cannot cache the counts from before the write.
+	 */
+	public void evict() {
+		clear();
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					clear();
+				}
+			});
+		}
+	}
+
+	private synchronized void clear() {
+		generation.incrementAndGet();
+		snapshot = null;
+		evictions.incrementAndGet();
+	}
+
+	private List<Entry> load() {
+		loads.incrementAndGet();
+		List<Object[]> rows = categoryRepository.countQuizzesByCategory();
+		List<Entry> entries = new ArrayList<>(rows.size());
+		for (Object[] row : rows) {
+			entries.add(new Entry((Long) row[0], (String) row[1], toInt(row[2]), toInt(row[3])));
+		}
+		LOGGER.debug("Loaded quiz counts for {} categories", entries.size());
+		return Collections.unmodifiableList(entries);
+	}
+
+	private static int toInt(Object value) {
+		return value != null ? ((Number) value).intValue() : 0;
+	}
+
+	@Override
+	public String getMetricsName() {
+		return "categoryQuizCounts";
+	}
+
+	@Override
+	public Map<String, Object> getMetrics() {
+		List<Entry> current = snapshot;
+		Map<String, Object> metrics = new LinkedHashMap<>();
+		metrics.put("cached", current != null);
+		metrics.put("categories", current != null ? current.size() : 0);
+		metrics.put("hits", hits.get());
+		metrics.put("loads", loads.get());
+		metrics.put("evictions", evictions.get());
+		return metrics;
+	}
+}
@@ -0,0 +1,123 @@
+package com.exam.examserver.cache;
+
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.exam.examserver.model.exam.session.ExamSession;
+import com.exam.examserver.monitoring.MetricsSource;
+
+/**
+ * Bounded in-memory store of active {@link ExamSession exam sessions}, keyed by session id.
+ *
+ * <p>Each session expires on its own once its deadline and grace period have passed; expired
+ * sessions are also purged periodically so abandoned exams do not hold memory. When the store
+ * is full of live sessions, new ones are refused instead of evicting an exam in progress.</p>
+ *
+ * <p>A user has at most one live session per quiz. Writes are serialized on the store, so the
+ * capacity check, the one-session-per-quiz check and the insert happen as one step.</p>
+ */
+@Component
+public class ExamSessionStore implements MetricsSource {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ExamSessionStore.class);
+
+	private final int maxActive;
+	private final LruCache<String, ExamSession> sessions;
+	// Session id of each user/quiz pair, expiring with the session it points to
+	private final LruCache<String, String> sessionIdsByUserAndQuiz;
+
+	public ExamSessionStore(@Value("${exam.sessions.max-active:10000}") int maxActive) {
+		this.maxActive = maxActive;
+		this.sessions = new LruCache<>(maxActive, 0);
+		this.sessionIdsByUserAndQuiz = new LruCache<>(maxActive, 0);
+	}
+
+	/**
+	 * Stores a session until {@code expiresAt}, unless its user already has a live session
+	 * for the quiz.
+	 *
+	 * @return the given session if it was stored, the user's live session for the quiz if there
+	 *         is one, or {@code null} if the store is full of live sessions
+	 */
+	public synchronized ExamSession putIfAbsent(ExamSession session, long expiresAt) {
+		ExamSession existing = findFor(session.getUserId(), session.getQuizId());
+		if (existing != null) {
+			return existing;
+		}
+		if (sessions.size() >= maxActive && sessions.purgeExpired() == 0) {
+			LOGGER.warn("Exam session store is full ({} active sessions)", maxActive);
+			return null;
+		}
+		long ttlMillis = Math.max(1, expiresAt - System.currentTimeMillis());
+		sessions.put(session.getSessionId(), session, ttlMillis);
+		sessionIdsByUserAndQuiz.put(key(session.getUserId(), session.getQuizId()), session.getSessionId(), ttlMillis);
+		return session;
+	}
+
+	/**
+	 * @return the live session of a user for a quiz, or {@code null} if there is none
+	 */
+	public ExamSession findFor(Long userId, Long quizId) {
+		String sessionId = sessionIdsByUserAndQuiz.get(key(userId, quizId));
+		return sessionId != null ? sessions.get(sessionId) : null;
+	}
+
+	/**
+	 * @return the live session with the given id, or {@code null} if unknown or expired
+	 */
+	public ExamSession get(String sessionId) {
+		return sessions.get(sessionId);
+	}
+
+	/**
+	 * Removes and returns a session, so it can be submitted only once.
+	 *
+	 * @return the removed session, or {@code null} if unknown; expiry is left to the caller
+	 */
+	public synchronized ExamSession take(String sessionId) {
+		ExamSession session = sessions.remove(sessionId);
+		if (session != null) {
+			sessionIdsByUserAndQuiz.remove(key(session.getUserId(), session.getQuizId()));
+		}
+		return session;
+	}
+
+	/**
+	 * Drops every session of a user for a quiz.
+	 *
+	 * @return the number of removed sessions
+	 */
+	public synchronized int removeFor(Long userId, Long quizId) {
+		sessionIdsByUserAndQuiz.remove(key(userId, quizId));
+		return sessions.removeIf((id, session) ->
+				session.getUserId().equals(userId) && session.getQuizId().equals(quizId));
+	}
+
+	private static String key(Long userId, Long quizId) {
+		return userId + ":" + quizId;
+	}
+
+	@Scheduled(fixedDelayString = "${exam.sessions.purge-interval-ms:60000}")
+	public void purgeExpired() {
+		sessionIdsByUserAndQuiz.purgeExpired();
+		int purged = sessions.purgeExpired();
+		if (purged > 0) {
+			LOGGER.debug("Purged {} expired exam sessions", purged);
+		}
+	}
+
+	@Override
+	public String getMetricsName() {
+		return "examSessionStore";
+	}
+
+	@Override
+	public Map<String, Object> getMetrics() {
+		return sessions.stats();
+	}
+}
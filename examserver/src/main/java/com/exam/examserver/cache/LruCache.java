@@ -0,0 +1,202 @@
+package com.exam.examserver.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * Size-bounded, least-recently-used cache with optional time-to-live.
+ *
+ * <p>Entries are evicted when the cache grows beyond {@code maxSize} (least recently
+ * accessed first) or when their expiry time has passed. Each entry can override the
+ * default time-to-live. Hit, miss, eviction and load counters are kept for monitoring.</p>
+ *
+ * <p>{@link #get(Object, Function)} does not hold the lock while the loader runs; a value
+ * loaded concurrently with an invalidation is returned to the caller but not cached, so
+ * a stale value is never re-inserted after {@link #remove(Object)} or {@link #clear()}.</p>
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class LruCache<K, V> {
+
+	private static final class Entry<V> {
+		private final V value;
+		private final long expiresAt;
+
+		private Entry(V value, long expiresAt) {
+			this.value = value;
+			this.expiresAt = expiresAt;
+		}
+	}
+
+	private final int maxSize;
+	private final long defaultTtlMillis;
+	private final LinkedHashMap<K, Entry<V>> entries;
+
+	private long generation;
+	private long hits;
+	private long misses;
+	private long evictions;
+	private long expirations;
+	private long loads;
+	private long loadNanos;
+
+	/**
+	 * @param maxSize          maximum number of entries kept
+	 * @param defaultTtlMillis default time-to-live in milliseconds; {@code 0} or less disables expiry
+	 */
+	public LruCache(int maxSize, long defaultTtlMillis) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("Cache size must be positive: " + maxSize);
+		}
+		this.maxSize = maxSize;
+		this.defaultTtlMillis = defaultTtlMillis;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true);
+	}
+
+	/**
+	 * Returns the cached value for the key, or {@code null} if absent or expired.
+	 */
+	public synchronized V get(K key) {
+		Entry<V> entry = entries.get(key);
+		if (entry == null) {
+			misses++;
+			return null;
+		}
+		if (isExpired(entry, System.currentTimeMillis())) {
+			entries.remove(key);
+			expirations++;
+			misses++;
+			return null;
+		}
+		hits++;
+		return entry.value;
+	}
+
+	/**
+	 * Returns the cached value for the key, loading and caching it on a miss.
+	 * A {@code null} result from the loader is returned but not cached.
+	 */
+	public V get(K key, Function<? super K, ? extends V> loader) {
+		long loadGeneration;
+		synchronized (this) {
+			V cached = get(key);
+			if (cached != null) {
+				return cached;
+			}
+			loadGeneration = generation;
+		}
+
+		long start = System.nanoTime();
+		V loaded = loader.apply(key);
+		long elapsed = System.nanoTime() - start;
+
+		synchronized (this) {
+			loads++;
+			loadNanos += elapsed;
+			if (loaded != null && loadGeneration == generation) {
+				put(key, loaded);
+			}
+		}
+		return loaded;
+	}
+
+	public void put(K key, V value) {
+		put(key, value, defaultTtlMillis);
+	}
+
+	/**
+	 * Caches a value with its own time-to-live.
+	 *
+	 * @param ttlMillis time-to-live in milliseconds; {@code 0} or less means the entry never expires
+	 */
+	public synchronized void put(K key, V value, long ttlMillis) {
+		long expiresAt = ttlMillis > 0 ? System.currentTimeMillis() + ttlMillis : Long.MAX_VALUE;
+		entries.put(key, new Entry<>(value, expiresAt));
+		if (entries.size() > maxSize) {
+			Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+			while (entries.size() > maxSize && it.hasNext()) {
+				it.next();
+				it.remove();
+				evictions++;
+			}
+		}
+	}
+
+	public synchronized V remove(K key) {
+		generation++;
+		Entry<V> removed = entries.remove(key);
+		return removed != null ? removed.value : null;
+	}
+
+	/**
+	 * Removes every entry matching the predicate.
+	 *
+	 * @return the number of removed entries
+	 */
+	public synchronized int removeIf(BiPredicate<? super K, ? super V> predicate) {
+		generation++;
+		int removed = 0;
+		Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+		while (it.hasNext()) {
+			Map.Entry<K, Entry<V>> entry = it.next();
+			if (predicate.test(entry.getKey(), entry.getValue().value)) {
+				it.remove();
+				removed++;
+			}
+		}
+		return removed;
+	}
+
+	/**
+	 * Drops expired entries. Expired entries are also dropped lazily on access.
+	 *
+	 * @return the number of purged entries
+	 */
+	public synchronized int purgeExpired() {
+		long now = System.currentTimeMillis();
+		int purged = 0;
+		Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+		while (it.hasNext()) {
+			if (isExpired(it.next().getValue(), now)) {
+				it.remove();
+				purged++;
+			}
+		}
+		expirations += purged;
+		return purged;
+	}
+
+	public synchronized void clear() {
+		generation++;
+		entries.clear();
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * @return a snapshot of the cache counters
+	 */
+	public synchronized Map<String, Object> stats() {
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("size", entries.size());
+		stats.put("maxSize", maxSize);
+		stats.put("hits", hits);
+		stats.put("misses", misses);
+		stats.put("hitRatio", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+		stats.put("evictions", evictions);
+		stats.put("expirations", expirations);
+		stats.put("loads", loads);
+		stats.put("averageLoadMillis", loads == 0 ? 0.0 : loadNanos / 1_000_000.0 / loads);
+		return stats;
+	}
+
+	private static boolean isExpired(Entry<?> entry, long now) {
+		return entry.expiresAt <= now;
+	}
+}
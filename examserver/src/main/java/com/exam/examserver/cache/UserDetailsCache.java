@@ -0,0 +1,94 @@
+package com.exam.examserver.cache;
+
+import java.util.Map;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.exam.examserver.monitoring.MetricsSource;
+
+/**
+ * Bounded cache of {@link UserSnapshot user snapshots}, keyed by username.
+ *
+ * <p>Serves the user lookup of every token-authenticated request. Entries are evicted least
+ * recently used first and expire after {@code ttl-ms}. Every write to a user must call
+ * {@link #evictUser(Long)} or {@link #evictUsername(String)}; other instances only see the
+ * write once their own entry expires, which bounds how long they accept revoked tokens.</p>
+ */
+@Component
+public class UserDetailsCache implements MetricsSource {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(UserDetailsCache.class);
+
+	private final boolean enabled;
+	private final LruCache<String, UserSnapshot> cache;
+
+	public UserDetailsCache(
+			@Value("${exam.security.user-cache.enabled:true}") boolean enabled,
+			@Value("${exam.security.user-cache.max-size:1000}") int maxSize,
+			@Value("${exam.security.user-cache.ttl-ms:300000}") long ttlMillis) {
+		this.enabled = enabled;
+		this.cache = new LruCache<>(maxSize, ttlMillis);
+	}
+
+	/**
+	 * Returns the snapshot of a user, loading it on a miss.
+	 *
+	 * @param username the username
+	 * @param loader   loads the snapshot, returning {@code null} if the user does not exist
+	 * @return the snapshot, or {@code null} if the user does not exist
+	 */
+	public UserSnapshot get(String username, Function<String, UserSnapshot> loader) {
+		if (!enabled) {
+			return loader.apply(username);
+		}
+		return cache.get(username, loader);
+	}
+
+	/**
+	 * Drops the cached snapshot of a user, now and again after the current transaction commits.
+	 */
+	public void evictUser(Long userId) {
+		if (userId == null) {
+			return;
+		}
+		evictAfterCommit(() -> cache.removeIf((username, snapshot) -> userId.equals(snapshot.getId())));
+		LOGGER.debug("Evicted cached user ID {}", userId);
+	}
+
+	public void evictUsername(String username) {
+		if (username == null) {
+			return;
+		}
+		evictAfterCommit(() -> cache.remove(username));
+	}
+
+	private static void evictAfterCommit(Runnable eviction) {
+		eviction.run();
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					eviction.run();
+				}
+			});
+		}
+	}
+
+	@Override
+	public String getMetricsName() {
+		return "userDetailsCache";
+	}
+
+	@Override
+	public Map<String, Object> getMetrics() {
+		Map<String, Object> metrics = cache.stats();
+		metrics.put("enabled", enabled);
+		return metrics;
+	}
+}
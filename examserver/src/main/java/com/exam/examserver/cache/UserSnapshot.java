@@ -0,0 +1,72 @@
+package com.exam.examserver.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import com.exam.examserver.model.role.Role;
+import com.exam.examserver.model.user.User;
+import com.exam.examserver.model.userrole.UserRole;
+
+/**
+ * Immutable copy of a user's account and role names, detached from the persistence context.
+ * Every {@link #toUser()} call returns a new {@link User}, so callers cannot alter the cached state.
+ */
+public final class UserSnapshot {
+
+	private final Long id;
+	private final String username;
+	private final String password;
+	private final String firstName;
+	private final String lastName;
+	private final String email;
+	private final String phone;
+	private final boolean enabled;
+	private final String profile;
+	private final long securityEpoch;
+	private final List<String> roles;
+
+	private UserSnapshot(User user) {
+		this.id = user.getId();
+		this.username = user.getUsername();
+		this.password = user.getPassword();
+		this.firstName = user.getFirstName();
+		this.lastName = user.getLastName();
+		this.email = user.getEmail();
+		this.phone = user.getPhone();
+		this.enabled = user.isEnabled();
+		this.profile = user.getProfile();
+		this.securityEpoch = user.getSecurityEpoch();
+		List<String> roleNames = new ArrayList<>();
+		for (GrantedAuthority authority : user.getAuthorities()) {
+			roleNames.add(authority.getAuthority());
+		}
+		this.roles = List.copyOf(roleNames);
+	}
+
+	public static UserSnapshot of(User user) {
+		return new UserSnapshot(user);
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getUsername() {
+		return username;
+	}
+
+	/**
+	 * @return a new detached {@link User} with the snapshot's fields and roles
+	 */
+	public User toUser() {
+		User user = new User(id, username, firstName, lastName, email, phone, enabled, profile);
+		user.setPassword(password);
+		user.setSecurityEpoch(securityEpoch);
+		for (String roleName : roles) {
+			user.getUserRoles().add(new UserRole(null, user, new Role(null, roleName)));
+		}
+		return user;
+	}
+}
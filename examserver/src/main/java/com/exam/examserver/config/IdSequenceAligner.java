@@ -0,0 +1,62 @@
+package com.exam.examserver.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.exam.examserver.model.SequenceIds;
+
+/**
+ * Moves the pooled id sequences ahead of the ids already stored in their tables.
+ *
+ * <p>MySQL has no native sequences, so Hibernate emulates each {@code @SequenceGenerator}
+ * with a single-row table. When a table previously filled by {@code IDENTITY} or by another
+ * generator is switched to a sequence, that table may start below the existing ids. Each
+ * sequence is raised to at least {@code MAX(id) + allocationSize + 1} so the first pooled
+ * block cannot collide.</p>
+ *
+ * <p>The alignment runs while the context is refreshed, once the entity manager factory has
+ * updated the schema. The web server only accepts connections and the schedulers only start
+ * after every singleton is initialized, so no request or job can insert before it.</p>
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class IdSequenceAligner implements InitializingBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IdSequenceAligner.class);
+
+    // sequence table, entity table, id column
+    private static final String[][] SEQUENCES = {
+            { "question_seq", "question", "ques_id" },
+            { "quiz_attempts_seq", "quiz_attempts", "id" },
+            { "question_attempts_seq", "question_attempts", "id" }
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterPropertiesSet() {
+        alignSequences();
+    }
+
+    private void alignSequences() {
+        for (String[] sequence : SEQUENCES) {
+            String sql = "UPDATE " + sequence[0] + " SET next_val = GREATEST(next_val, "
+                    + "(SELECT COALESCE(MAX(" + sequence[2] + "), 0) + " + (SequenceIds.ALLOCATION_SIZE + 1)
+                    + " FROM " + sequence[1] + "))";
+            try {
+                if (jdbcTemplate.update(sql) > 0) {
+                    LOGGER.debug("Aligned id sequence '{}' with table '{}'", sequence[0], sequence[1]);
+                }
+            } catch (DataAccessException e) {
+                LOGGER.warn("Could not align id sequence '{}': {}", sequence[0], e.getMessage());
+            }
+        }
+    }
+}
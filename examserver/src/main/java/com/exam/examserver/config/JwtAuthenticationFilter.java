@@ -10,6 +10,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -18,6 +19,7 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 
 @Component
@@ -27,9 +29,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter{
 	private UserDetailsService userDetailsService;
 	@Autowired
 	private JwtUtil jwtUtil;
+	@Autowired
+	private PublicRoutes publicRoutes;
 	private static final Logger LOGGER = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
-	
-	
+	private final SampledLogger securityWarnings;
+
+	public JwtAuthenticationFilter(
+			@Value("${exam.security.log.max-warnings-per-window:20}") int maxWarningsPerWindow,
+			@Value("${exam.security.log.window-ms:60000}") long warningWindowMs) {
+		this.securityWarnings = new SampledLogger(LOGGER, maxWarningsPerWindow, warningWindowMs);
+	}
+
+	/**
+	 * Skips preflights and public routes such as images and API docs: they never need a
+	 * token, so no header is read and nothing is logged for them.
+	 */
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return publicRoutes.isTokenless(request);
+	}
+
 	/**
 	 * Processes incoming HTTP requests to extract and validate a JWT token.
 	 * <p>
@@ -40,7 +59,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter{
 	 *   <li>Validates the token and sets the authentication in the SecurityContext if valid.</li>
 	 * </ol>
 	 * <p>
-	 * After processing the token, the request is passed along the filter chain.
+	 * After processing the token, the request is passed along the filter chain. Rejected
+	 * tokens are logged through a {@link SampledLogger}, so a burst of bad requests costs a
+	 * bounded number of log lines.
 	 *
 	 * @param request  the HttpServletRequest containing the incoming request details
 	 * @param response the HttpServletResponse for sending responses
@@ -57,9 +78,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter{
 
 	    String jwtToken = extractJwtFromHeader(request, endpoint, clientIp);
 	    if (jwtToken != null) {
-	        String username = getUsernameFromToken(jwtToken,request, endpoint, clientIp);
-	        if (username != null) {
-	            authenticateUser(jwtToken, username, request, endpoint, clientIp);
+	        // The token is verified once here; later checks reuse the claims
+	        Claims claims = getClaimsFromToken(jwtToken, request, endpoint, clientIp);
+	        if (claims != null && claims.getSubject() != null) {
+	            authenticateUser(claims, request, endpoint, clientIp);
 	        }
 	    }
 
@@ -71,27 +93,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter{
 	 */
 	private String extractJwtFromHeader(HttpServletRequest request, String endpoint, String clientIp) {
 	    String header = request.getHeader("Authorization");
-	    LOGGER.debug("Incoming request [{}] from IP [{}], Authorization header: {}", endpoint, clientIp, header);
 
 	    if (header != null && header.startsWith("Bearer ")) {
 	        return header.substring(7);
-	    } else {
-	        LOGGER.warn("Missing or invalid Authorization header for request [{}] from IP [{}]", endpoint, clientIp);
-	        return null;
 	    }
+	    // Anonymous requests are normal; the entry point answers 401 where a token is required
+	    LOGGER.debug("No bearer token for request [{}] from IP [{}]", endpoint, clientIp);
+	    return null;
 	}
 
 	/**
-	 * Extracts username from JWT token and handles exceptions.
+	 * Verifies the JWT token and returns its claims, handling exceptions.
 	 */
-	private String getUsernameFromToken(String token,HttpServletRequest request, String endpoint, String clientIp) {
+	private Claims getClaimsFromToken(String token, HttpServletRequest request, String endpoint, String clientIp) {
 	    try {
-	        return this.jwtUtil.extractUsername(token);
+	        return this.jwtUtil.parseClaims(token);
 	    } catch (ExpiredJwtException e) {
-	        LOGGER.warn("JWT token has expired for request [{}] from IP [{}]", endpoint, clientIp, e);
+	        LOGGER.debug("JWT token has expired for request [{}] from IP [{}]", endpoint, clientIp);
 	        request.setAttribute("exception", e);
 	    } catch (Exception e) {
-	        LOGGER.error("Error parsing JWT token for request [{}] from IP [{}]", endpoint, clientIp, e);
+	        securityWarnings.warn("Rejected JWT token for request [{}] from IP [{}]: {}", endpoint, clientIp, e.getMessage());
 	    }
 	    return null;
 	}
@@ -99,28 +120,38 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter{
 	/**
 	 * Validates the token and sets authentication in the SecurityContext if valid.
 	 */
-	private void authenticateUser(String token, String username, HttpServletRequest request, String endpoint, String clientIp) {
+	private void authenticateUser(Claims claims, HttpServletRequest request, String endpoint, String clientIp) {
 	    if (SecurityContextHolder.getContext().getAuthentication() != null) {
 	        return; // Already authenticated
 	    }
 
+	    String username = claims.getSubject();
+	    if (this.jwtUtil.isRevoked(claims)) {
+	        securityWarnings.warn("Logged-out JWT token for user [{}] on request [{}] from IP [{}]", username, endpoint, clientIp);
+	        return;
+	    }
+
+	    // Served from the user cache: the stored account decides the roles, the enabled flag and the epoch
 	    try {
 	        UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-	        if (this.jwtUtil.validateToken(token, userDetails)) {
+	        if (this.jwtUtil.validateClaims(claims, userDetails)) {
 	            LOGGER.debug("Valid JWT token for user [{}] on request [{}] from IP [{}]", username, endpoint, clientIp);
 
-	            UsernamePasswordAuthenticationToken authToken =
-	                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-	            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-	            SecurityContextHolder.getContext().setAuthentication(authToken);
+	            setAuthentication(userDetails, request);
 	        } else {
-	            LOGGER.warn("Invalid JWT token for user [{}] on request [{}] from IP [{}]", username, endpoint, clientIp);
+	            securityWarnings.warn("Invalid or revoked JWT token for user [{}] on request [{}] from IP [{}]", username, endpoint, clientIp);
 	        }
 	    } catch (Exception e) {
-	        LOGGER.error("Error validating JWT token for user [{}] on request [{}] from IP [{}]", username, endpoint, clientIp, e);
+	        securityWarnings.warn("Error validating JWT token for user [{}] on request [{}] from IP [{}]: {}", username, endpoint, clientIp, e.getMessage());
 	    }
 	}
 
+	private void setAuthentication(UserDetails userDetails, HttpServletRequest request) {
+	    UsernamePasswordAuthenticationToken authToken =
+	            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+	    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+	    SecurityContextHolder.getContext().setAuthentication(authToken);
+	}
 
 }
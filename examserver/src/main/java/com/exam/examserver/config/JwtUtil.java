@@ -1,33 +1,72 @@
 package com.exam.examserver.config;
 
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
 import javax.crypto.SecretKey;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import com.exam.examserver.cache.LruCache;
+import com.exam.examserver.model.user.User;
+import com.exam.examserver.monitoring.MetricsSource;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 
+/**
+ * Creates and verifies the JWTs used for stateless authentication.
+ *
+ * <p>The signing key and parser are built once. Verified claims are cached by the SHA-256
+ * digest of the token, each entry living no longer than the token itself, so a request
+ * verifies at most one signature and repeated requests with the same token verify none.</p>
+ */
 @Component
-public class JwtUtil {
+public class JwtUtil implements MetricsSource {
 
 	private String SECRET_KEY = "ExamPortal123456654321ExamPortal123456654321ExamPortal123456654321";
-	
+
+	public static final String CLAIM_USER_ID = "uid";
+	public static final String CLAIM_EPOCH = "epoch";
+
+	@Autowired
+	private SecurityEpochRegistry securityEpochRegistry;
+	@Autowired
+	private TokenRevocationRegistry tokenRevocationRegistry;
+
+	private final SecretKey signingKey;
+	private final JwtParser parser;
+	private final LruCache<String, Claims> claimsCache;
+	private final AtomicLong verifications = new AtomicLong();
+	private final AtomicLong rejections = new AtomicLong();
+
+	public JwtUtil(@Value("${exam.security.jwt.claims-cache.max-size:10000}") int claimsCacheSize) {
+		this.signingKey = getSigningKey();
+		this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+		this.claimsCache = new LruCache<>(claimsCacheSize, 0);
+	}
+
 	/**
 	 * Generates a secure {@link SecretKey} instance from the predefined secret string.
 	 * <p>
 	 * This method converts the secret key string into a byte array using UTF-8 encoding,
 	 * and then derives a valid HMAC-SHA key using {@link io.jsonwebtoken.security.Keys#hmacShaKeyFor(byte[])}.
 	 * The resulting {@code SecretKey} is suitable for signing and verifying JWTs
-	 * using HMAC algorithms such as HS256, HS384, or HS512.
+	 * using HMAC algorithms such as HS256, HS384, or HS512. It is derived once, at construction.
 	 * </p>
 	 *
 	 * @return a securely derived {@link SecretKey} for JWT signing and verification
@@ -36,6 +75,46 @@ public class JwtUtil {
         return Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
     }
 
+	/**
+	 * Returns the verified claims of a token, checking its signature only on a cache miss.
+	 *
+	 * @param token the JWT token
+	 * @return the verified claims; callers must not modify them
+	 * @throws io.jsonwebtoken.JwtException if the token is malformed, badly signed or expired
+	 */
+	public Claims parseClaims(String token) {
+		String digest = digest(token);
+		Claims claims = claimsCache.get(digest);
+		if (claims != null) {
+			return claims;
+		}
+
+		verifications.incrementAndGet();
+		try {
+			claims = parser.parseClaimsJws(token).getBody();
+		} catch (RuntimeException e) {
+			rejections.incrementAndGet();
+			throw e;
+		}
+		Date expiration = claims.getExpiration();
+		if (expiration != null) {
+			long ttl = expiration.getTime() - System.currentTimeMillis();
+			if (ttl > 0) {
+				claimsCache.put(digest, claims, ttl);
+			}
+		}
+		return claims;
+	}
+
+	private static String digest(String token) {
+		try {
+			byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+			return Base64.getEncoder().encodeToString(hash);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
+
 	/**
 	 * Extracts the username (subject) from the JWT token.
 	 *
@@ -76,23 +155,9 @@ public class JwtUtil {
 	 * @return the Claims object containing all information in the token
 	 */
 	private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parseClaims(token);
     }
 
-	/**
-	 * Checks if the JWT token has expired.
-	 *
-	 * @param token the JWT token
-	 * @return true if the token is expired, false otherwise
-	 */
-	private Boolean isTokenExpired(String token) {
-	    return extractExpiration(token).before(new Date());
-	}
-
 	/**
 	 * Generates a JWT token for the given user details.
 	 *
@@ -101,11 +166,41 @@ public class JwtUtil {
 	 */
 	public String generateToken(UserDetails userDetails) {
 	    Map<String, Object> claims = new HashMap<>();
+	    if (userDetails instanceof User user) {
+	        // Binds the token to this account and its current epoch, see #validateClaims(Claims, UserDetails)
+	        claims.put(CLAIM_USER_ID, user.getId());
+	        claims.put(CLAIM_EPOCH, user.getSecurityEpoch());
+	    }
 	    return createToken(claims, userDetails.getUsername());
 	}
 
 	/**
-	 * Creates a JWT token with the specified claims and subject.
+	 * Checks whether the token was revoked by a logout.
+	 *
+	 * @param claims verified claims
+	 * @return true if the token id has been revoked; tokens without an id are never revoked
+	 */
+	public boolean isRevoked(Claims claims) {
+	    return tokenRevocationRegistry.isRevoked(claims.getId());
+	}
+
+	/**
+	 * Revokes a token until it expires, so it is rejected even though its signature is valid.
+	 *
+	 * @param claims verified claims of the token to revoke
+	 * @return false if the token has no id and cannot be revoked individually
+	 */
+	public boolean revoke(Claims claims) {
+	    if (claims.getId() == null || claims.getExpiration() == null) {
+	        return false;
+	    }
+	    tokenRevocationRegistry.revoke(claims.getId(), claims.getExpiration().getTime());
+	    return true;
+	}
+
+	/**
+	 * Creates a JWT token with the specified claims and subject. Each token gets a random
+	 * id ({@code jti}) so it can be revoked on its own.
 	 *
 	 * @param claims a map of claims to include in the token
 	 * @param subject the subject (usually username) of the token
@@ -115,9 +210,10 @@ public class JwtUtil {
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 10)) // 10 hours
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -129,8 +225,48 @@ public class JwtUtil {
 	 * @return true if the token is valid and belongs to the user, false otherwise
 	 */
 	public Boolean validateToken(String token, UserDetails userDetails) {
-	    final String username = extractUsername(token);
-	    return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+	    return validateClaims(parseClaims(token), userDetails);
+	}
+
+	/**
+	 * Validates already verified claims against the given user details.
+	 * <p>
+	 * For a {@link User}, the token must also have been issued to this account (not to a
+	 * deleted user whose username was reused), the account must be enabled and the token's
+	 * security epoch must be current, see {@link SecurityEpochRegistry}.
+	 * </p>
+	 *
+	 * @param claims the claims returned by {@link #parseClaims(String)}
+	 * @param userDetails the user details to validate against, as currently stored
+	 * @return true if the claims belong to the user and are still valid, false otherwise
+	 */
+	public boolean validateClaims(Claims claims, UserDetails userDetails) {
+	    Date expiration = claims.getExpiration();
+	    if (!userDetails.getUsername().equals(claims.getSubject())
+	            || (expiration != null && expiration.before(new Date()))) {
+	        return false;
+	    }
+	    if (userDetails instanceof User user) {
+	        Long userId = claims.get(CLAIM_USER_ID, Long.class);
+	        Long epoch = claims.get(CLAIM_EPOCH, Long.class);
+	        return user.isEnabled()
+	                && (userId == null || userId.equals(user.getId()))
+	                && securityEpochRegistry.isCurrent(user, epoch != null ? epoch : 0L);
+	    }
+	    return true;
+	}
+
+	@Override
+	public String getMetricsName() {
+		return "jwtClaimsCache";
+	}
+
+	@Override
+	public Map<String, Object> getMetrics() {
+		Map<String, Object> metrics = claimsCache.stats();
+		metrics.put("signatureVerifications", verifications.get());
+		metrics.put("rejectedTokens", rejections.get());
+		return metrics;
 	}
 
 }
@@ -1,6 +1,7 @@
 package com.exam.examserver.config;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -25,13 +26,19 @@ public class MySecurityConfig implements WebMvcConfigurer {
 	@Autowired
 	private JwtAuthenticationFilter jwtAuthenticationFilter;
 	@Autowired
+	private RateLimitFilter rateLimitFilter;
+	@Autowired
 	private CorsConfigurationSource corsConfigurationSource;
 	@Autowired
 	private JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
 
+	/**
+	 * Password encoder used for new and upgraded hashes. Stored hashes with a lower cost
+	 * factor keep matching and are upgraded on login when {@code exam.security.login.rehash} is on.
+	 */
 	@Bean
-	BCryptPasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+	BCryptPasswordEncoder passwordEncoder(@Value("${exam.security.bcrypt.strength:10}") int strength) {
+		return new BCryptPasswordEncoder(strength);
 	}
 
 	@Bean
@@ -44,16 +51,19 @@ public class MySecurityConfig implements WebMvcConfigurer {
 		http.csrf(csrf -> csrf.disable()).cors(cors -> cors.configurationSource(corsConfigurationSource))
 				.authorizeHttpRequests(
 						auth -> 
-						auth.requestMatchers("/generate-token", "/user/").permitAll()
-						.requestMatchers("/swagger-ui.html", "/swagger-ui/**", "/v3/api-docs", "/v3/api-docs/**", "/actuator/**").permitAll()
-						.requestMatchers("/images/**").permitAll()
+						// JwtAuthenticationFilter skips these paths without reading the token
+						auth.requestMatchers(PublicRoutes.TOKENLESS_PATHS).permitAll()
+						.requestMatchers("/user/").permitAll()
 						.requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
-						.requestMatchers("/generation/questions/**").permitAll()
 						.anyRequest().authenticated())
+				// Logout revokes the bearer token, see AuthenticationController#logout
+				.logout(logout -> logout.disable())
 				.exceptionHandling(ex -> ex.authenticationEntryPoint(jwtAuthenticationEntryPoint))
 				.sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
 
 		http.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+		// Rejects over-limit clients before their token is verified
+		http.addFilterBefore(rateLimitFilter, JwtAuthenticationFilter.class);
 
 		return http.build();
 	}
@@ -0,0 +1,71 @@
+package com.exam.examserver.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+
+/**
+ * Classifies requests that never need a bearer token: CORS preflights, static images, API
+ * docs, the login endpoint and question generation.
+ *
+ * <p>The patterns are compiled once into exact paths and path prefixes, so classifying a
+ * request is a handful of string comparisons on the request URI without allocating.</p>
+ */
+@Component
+public class PublicRoutes {
+
+	/**
+	 * Paths that are {@code permitAll} and are served without looking at the token.
+	 * Only exact paths and patterns ending in {@code /**} are supported.
+	 */
+	public static final String[] TOKENLESS_PATHS = {
+			"/generate-token",
+			"/images/**",
+			"/swagger-ui.html", "/swagger-ui/**", "/v3/api-docs", "/v3/api-docs/**",
+			"/actuator/**",
+			"/generation/questions/**"
+	};
+
+	private final List<String> exactPaths = new ArrayList<>();
+	private final List<String> prefixes = new ArrayList<>();
+
+	public PublicRoutes() {
+		for (String pattern : TOKENLESS_PATHS) {
+			if (pattern.endsWith("/**")) {
+				// "/images/**" matches "/images" and everything below "/images/"
+				String base = pattern.substring(0, pattern.length() - 3);
+				exactPaths.add(base);
+				prefixes.add(base + "/");
+			} else {
+				exactPaths.add(pattern);
+			}
+		}
+	}
+
+	/**
+	 * @return whether the request can skip token extraction and verification
+	 */
+	public boolean isTokenless(HttpServletRequest request) {
+		if (HttpMethod.OPTIONS.matches(request.getMethod())) {
+			return true;
+		}
+		String uri = request.getRequestURI();
+		int offset = request.getContextPath().length();
+		int length = uri.length() - offset;
+		for (String path : exactPaths) {
+			if (path.length() == length && uri.startsWith(path, offset)) {
+				return true;
+			}
+		}
+		for (String prefix : prefixes) {
+			if (uri.startsWith(prefix, offset)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,368 @@
+package com.exam.examserver.config;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.exam.examserver.monitoring.MetricsSource;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Limits request rates per client and route, ahead of authentication.
+ *
+ * <p>Each {@link RateLimitProperties.Rule rule} keeps one token bucket per client key (IP,
+ * token username or login username). Buckets use the generic cell rate algorithm: the whole bucket is a single
+ * {@link AtomicLong} holding the theoretical arrival time of the next request, updated with a
+ * compare-and-set, so admission takes no lock and each active key costs one map entry.
+ * A bucket whose arrival time has passed is full again and carries no information, so idle
+ * keys are evicted periodically without changing any client's allowance.</p>
+ *
+ * <p>To key a login by the username it is for, the JSON body is buffered here, up to
+ * {@value #MAX_USERNAME_BODY} bytes, and replayed to the rest of the chain. Rejected requests
+ * get 429 with a {@code Retry-After} header. Allowed and rejected counts and bucket occupancy are exposed as metrics.</p>
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter implements MetricsSource {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(RateLimitFilter.class);
+
+	// Login bodies are a username and a password; a longer body on a username-keyed route gets 413
+	private static final int MAX_USERNAME_BODY = 4096;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private final boolean enabled;
+	private final int maxKeys;
+	private final List<Limiter> limiters = new ArrayList<>();
+	private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+	public RateLimitFilter(RateLimitProperties properties) {
+		this.enabled = properties.isEnabled();
+		this.maxKeys = properties.getMaxKeys();
+		for (RateLimitProperties.Rule rule : properties.getRules()) {
+			if (rule.getLimit() < 1 || rule.getPeriod() == null || rule.getPeriod().isZero() || rule.getPaths().isEmpty()) {
+				throw new IllegalArgumentException("Invalid rate limit rule: " + rule.getName());
+			}
+			limiters.add(new Limiter(rule));
+		}
+		LOGGER.info("Rate limiting {} with {} rules", enabled ? "enabled" : "disabled", limiters.size());
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return !enabled || limiters.isEmpty() || HttpMethod.OPTIONS.matches(request.getMethod());
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+
+		String path = request.getRequestURI().substring(request.getContextPath().length());
+		String method = request.getMethod().toUpperCase(Locale.ROOT);
+		for (Limiter limiter : limiters) {
+			if (!limiter.matches(method, path)) {
+				continue;
+			}
+			if (limiter.rule.getKey() == RateLimitProperties.KeyType.USERNAME && !(request instanceof ReplayedBodyRequest)) {
+				byte[] body = request.getInputStream().readNBytes(MAX_USERNAME_BODY + 1);
+				if (body.length > MAX_USERNAME_BODY) {
+					LOGGER.debug("Login body over {} bytes from [{}] refused", MAX_USERNAME_BODY, request.getRemoteAddr());
+					response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+					return;
+				}
+				request = new ReplayedBodyRequest(request, body);
+			}
+			String key = clientKey(limiter.rule.getKey(), request);
+			long waitNanos = limiter.acquire(key);
+			if (waitNanos > 0) {
+				long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+				LOGGER.debug("Rate limit '{}' exceeded by [{}] on [{}], retry after {}s",
+						limiter.rule.getName(), key, request.getRequestURI(), retryAfter);
+				response.setStatus(429);
+				response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+				response.setContentType("application/json");
+				response.getWriter().write("{\"error\":\"Too many requests\"}");
+				return;
+			}
+			if (!limiter.rule.isContinueMatching()) {
+				break;
+			}
+		}
+
+		filterChain.doFilter(request, response);
+	}
+
+	private String clientKey(RateLimitProperties.KeyType keyType, HttpServletRequest request) {
+		if (keyType == RateLimitProperties.KeyType.USERNAME && request instanceof ReplayedBodyRequest replayed) {
+			String username = loginUsername(replayed.body);
+			if (username != null) {
+				return "username:" + username;
+			}
+		}
+		if (keyType == RateLimitProperties.KeyType.USER) {
+			String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+			if (header != null && header.startsWith("Bearer ")) {
+				try {
+					// Served from the verified-claims cache for any token seen before
+					String username = jwtUtil.parseClaims(header.substring(7)).getSubject();
+					if (username != null) {
+						return "user:" + username;
+					}
+				} catch (RuntimeException e) {
+					// Invalid token: count it against the IP, authentication rejects it later
+				}
+			}
+		}
+		return "ip:" + request.getRemoteAddr();
+	}
+
+	/**
+	 * @return the trimmed, lower-cased {@code username} of a JSON login body, or {@code null}
+	 */
+	private String loginUsername(byte[] body) {
+		if (body.length == 0) {
+			return null;
+		}
+		try {
+			JsonNode username = objectMapper.readTree(body).path("username");
+			if (username.isTextual() && !username.asText().isBlank()) {
+				// Case variants of one username share a bucket
+				return username.asText().trim().toLowerCase(Locale.ROOT);
+			}
+		} catch (IOException e) {
+			// Not JSON: count it against the IP, the login endpoint rejects it later
+		}
+		return null;
+	}
+
+	/**
+	 * Removes the buckets that have refilled completely.
+	 */
+	@Scheduled(fixedDelayString = "#{@rateLimitProperties.evictionIntervalMs}")
+	public void evictIdle() {
+		int evicted = 0;
+		for (Limiter limiter : limiters) {
+			evicted += limiter.evictIdle();
+		}
+		if (evicted > 0) {
+			LOGGER.debug("Evicted {} idle rate limit buckets", evicted);
+		}
+	}
+
+	@Override
+	public String getMetricsName() {
+		return "rateLimiter";
+	}
+
+	@Override
+	public Map<String, Object> getMetrics() {
+		Map<String, Object> metrics = new LinkedHashMap<>();
+		metrics.put("enabled", enabled);
+		for (Limiter limiter : limiters) {
+			metrics.put(limiter.rule.getName(), limiter.metrics());
+		}
+		return metrics;
+	}
+
+	private final class Limiter {
+
+		private final RateLimitProperties.Rule rule;
+		private final List<String> methods = new ArrayList<>();
+		private final long intervalNanos;
+		private final long burstNanos;
+		private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+		// Shared by every key that arrives while the table is full of active keys
+		private final AtomicLong overflow = new AtomicLong(System.nanoTime());
+		private final AtomicLong allowed = new AtomicLong();
+		private final AtomicLong rejected = new AtomicLong();
+		private final AtomicLong untracked = new AtomicLong();
+
+		Limiter(RateLimitProperties.Rule rule) {
+			this.rule = rule;
+			for (String method : rule.getMethods()) {
+				methods.add(method.toUpperCase(Locale.ROOT));
+			}
+			this.intervalNanos = Math.max(1, rule.getPeriod().toNanos() / rule.getLimit());
+			this.burstNanos = intervalNanos * rule.getBurst();
+		}
+
+		boolean matches(String method, String path) {
+			if (!methods.isEmpty() && !methods.contains(method)) {
+				return false;
+			}
+			for (String pattern : rule.getExcludePaths()) {
+				if (pathMatcher.match(pattern, path)) {
+					return false;
+				}
+			}
+			for (String pattern : rule.getPaths()) {
+				if (pathMatcher.match(pattern, path)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Takes one token from the key's bucket.
+		 *
+		 * @return {@code 0} if the request is allowed, otherwise the nanoseconds until it would be
+		 */
+		long acquire(String key) {
+			long now = System.nanoTime();
+			AtomicLong bucket = buckets.get(key);
+			if (bucket == null) {
+				if (buckets.size() >= maxKeys && evictIdle() == 0) {
+					// Every tracked client is active: newcomers share one bucket, so rotating keys gains nothing
+					untracked.incrementAndGet();
+					bucket = overflow;
+				} else {
+					bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+				}
+			}
+
+			while (true) {
+				long arrival = bucket.get();
+				long next = Math.max(arrival - now, 0) + now + intervalNanos;
+				long wait = next - now - burstNanos;
+				if (wait > 0) {
+					rejected.incrementAndGet();
+					return wait;
+				}
+				if (bucket.compareAndSet(arrival, next)) {
+					allowed.incrementAndGet();
+					return 0;
+				}
+			}
+		}
+
+		int evictIdle() {
+			long now = System.nanoTime();
+			int before = buckets.size();
+			// A full bucket equals a missing one; a request racing with its removal only loses one token of history
+			buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+			return Math.max(0, before - buckets.size());
+		}
+
+		Map<String, Object> metrics() {
+			long now = System.nanoTime();
+			int saturated = 0;
+			double usedTotal = 0;
+			for (AtomicLong bucket : buckets.values()) {
+				long backlog = Math.max(0, bucket.get() - now);
+				usedTotal += (double) backlog / burstNanos;
+				if (backlog + intervalNanos > burstNanos) {
+					saturated++;
+				}
+			}
+			int keys = buckets.size();
+			Map<String, Object> metrics = new LinkedHashMap<>();
+			metrics.put("limit", rule.getLimit());
+			metrics.put("periodSeconds", rule.getPeriod().toSeconds());
+			metrics.put("burst", rule.getBurst());
+			metrics.put("key", rule.getKey());
+			metrics.put("activeKeys", keys);
+			metrics.put("saturatedKeys", saturated);
+			metrics.put("averageOccupancy", keys == 0 ? 0.0 : Math.min(1.0, usedTotal / keys));
+			metrics.put("allowed", allowed.get());
+			metrics.put("rejected", rejected.get());
+			metrics.put("untracked", untracked.get());
+			return metrics;
+		}
+	}
+
+	/**
+	 * Request whose body was buffered to find the login username; the buffered bytes are
+	 * replayed to whoever reads the request next.
+	 */
+	private static final class ReplayedBodyRequest extends HttpServletRequestWrapper {
+
+		private final byte[] body;
+		private ServletInputStream inputStream;
+
+		ReplayedBodyRequest(HttpServletRequest request, byte[] body) {
+			super(request);
+			this.body = body;
+		}
+
+		@Override
+		public ServletInputStream getInputStream() {
+			if (inputStream == null) {
+				ByteArrayInputStream buffered = new ByteArrayInputStream(body);
+				inputStream = new ServletInputStream() {
+
+					@Override
+					public int read() {
+						return buffered.read();
+					}
+
+					@Override
+					public int read(byte[] buffer, int offset, int length) {
+						return buffered.read(buffer, offset, length);
+					}
+
+					@Override
+					public boolean isFinished() {
+						return buffered.available() == 0;
+					}
+
+					@Override
+					public boolean isReady() {
+						return true;
+					}
+
+					@Override
+					public void setReadListener(ReadListener listener) {
+						// The whole body is in memory, so it is readable at once and then complete
+						try {
+							listener.onDataAvailable();
+							listener.onAllDataRead();
+						} catch (IOException e) {
+							listener.onError(e);
+						}
+					}
+				};
+			}
+			return inputStream;
+		}
+
+		@Override
+		public BufferedReader getReader() throws IOException {
+			String encoding = getCharacterEncoding();
+			return new BufferedReader(new InputStreamReader(getInputStream(),
+					encoding != null ? encoding : StandardCharsets.UTF_8.name()));
+		}
+	}
+}
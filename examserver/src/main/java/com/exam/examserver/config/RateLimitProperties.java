@@ -0,0 +1,167 @@
+package com.exam.examserver.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rate-limiting rules, bound from {@code exam.rate-limit.*}.
+ *
+ * <p>Each rule limits the requests matching its paths and methods, and none of its
+ * {@code exclude-paths}, to {@code limit} per {@code period} for each client key, allowing
+ * bursts of up to {@code burst} requests. The first matching rule applies, and also the next
+ * matching ones while a rule sets {@code continue-matching}; a request is rejected if any
+ * applied rule rejects it. Requests matching no rule are not limited.</p>
+ *
+ * <p>IP keys use the address the server sees. Behind a reverse proxy or load balancer that is
+ * the proxy's address unless {@code server.forward-headers-strategy=native} is set and the
+ * proxy sends {@code X-Forwarded-For}; clients behind one NAT, such as a school network,
+ * always share an address, which is why logins are keyed by username.</p>
+ */
+@Component
+@ConfigurationProperties(prefix = "exam.rate-limit")
+public class RateLimitProperties {
+
+	/**
+	 * What a rule counts requests by.
+	 */
+	public enum KeyType {
+		/** The client IP address. */
+		IP,
+		/** The username of a valid bearer token, or the IP address for anonymous requests. */
+		USER,
+		/** The {@code username} field of a JSON login body, or the IP address if there is none. */
+		USERNAME
+	}
+
+	private boolean enabled = true;
+	private int maxKeys = 100000;
+	private long evictionIntervalMs = 60000;
+	private List<Rule> rules = new ArrayList<>();
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public int getMaxKeys() {
+		return maxKeys;
+	}
+
+	public void setMaxKeys(int maxKeys) {
+		this.maxKeys = maxKeys;
+	}
+
+	public long getEvictionIntervalMs() {
+		return evictionIntervalMs;
+	}
+
+	public void setEvictionIntervalMs(long evictionIntervalMs) {
+		this.evictionIntervalMs = evictionIntervalMs;
+	}
+
+	public List<Rule> getRules() {
+		return rules;
+	}
+
+	public void setRules(List<Rule> rules) {
+		this.rules = rules;
+	}
+
+	public static class Rule {
+
+		private String name;
+		private List<String> paths = new ArrayList<>();
+		private List<String> excludePaths = new ArrayList<>();
+		private List<String> methods = new ArrayList<>();
+		private KeyType key = KeyType.IP;
+		private int limit;
+		private Duration period = Duration.ofMinutes(1);
+		private int burst;
+		private boolean continueMatching;
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public List<String> getPaths() {
+			return paths;
+		}
+
+		public void setPaths(List<String> paths) {
+			this.paths = paths;
+		}
+
+		public List<String> getExcludePaths() {
+			return excludePaths;
+		}
+
+		public void setExcludePaths(List<String> excludePaths) {
+			this.excludePaths = excludePaths;
+		}
+
+		public List<String> getMethods() {
+			return methods;
+		}
+
+		public void setMethods(List<String> methods) {
+			this.methods = methods;
+		}
+
+		public KeyType getKey() {
+			return key;
+		}
+
+		public void setKey(KeyType key) {
+			this.key = key;
+		}
+
+		public int getLimit() {
+			return limit;
+		}
+
+		public void setLimit(int limit) {
+			this.limit = limit;
+		}
+
+		public Duration getPeriod() {
+			return period;
+		}
+
+		public void setPeriod(Duration period) {
+			this.period = period;
+		}
+
+		/**
+		 * @return the largest burst a client may send at once; defaults to {@link #getLimit()}
+		 */
+		public int getBurst() {
+			return burst > 0 ? burst : limit;
+		}
+
+		public void setBurst(int burst) {
+			this.burst = burst;
+		}
+
+		/**
+		 * @return whether the next matching rule also applies, e.g. a looser per-IP cap after a per-username limit
+		 */
+		public boolean isContinueMatching() {
+			return continueMatching;
+		}
+
+		public void setContinueMatching(boolean continueMatching) {
+			this.continueMatching = continueMatching;
+		}
+	}
+}
@@ -0,0 +1,59 @@
+package com.exam.examserver.config;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+
+/**
+ * Writes at most {@code maxPerWindow} warnings per time window and counts the rest, so a
+ * flood of identical security events cannot flood the log. The first warning of each new
+ * window reports how many were suppressed in the previous one.
+ */
+public class SampledLogger {
+
+	private final Logger logger;
+	private final int maxPerWindow;
+	private final long windowMillis;
+	private final LongSupplier clock;
+	private final AtomicLong windowStart = new AtomicLong();
+	private final AtomicLong inWindow = new AtomicLong();
+	private final AtomicLong suppressed = new AtomicLong();
+
+	public SampledLogger(Logger logger, int maxPerWindow, long windowMillis) {
+		this(logger, maxPerWindow, windowMillis, System::currentTimeMillis);
+	}
+
+	/**
+	 * @param clock source of the current time in milliseconds, replaced by tests
+	 */
+	SampledLogger(Logger logger, int maxPerWindow, long windowMillis, LongSupplier clock) {
+		this.logger = logger;
+		this.maxPerWindow = maxPerWindow;
+		this.windowMillis = windowMillis;
+		this.clock = clock;
+	}
+
+	/**
+	 * Logs a warning unless the window's budget is used up.
+	 */
+	public void warn(String format, Object... arguments) {
+		if (!logger.isWarnEnabled()) {
+			return;
+		}
+		long now = clock.getAsLong();
+		long start = windowStart.get();
+		if (now - start >= windowMillis && windowStart.compareAndSet(start, now)) {
+			inWindow.set(0);
+			long dropped = suppressed.getAndSet(0);
+			if (dropped > 0) {
+				logger.warn("{} similar security warnings suppressed in the last {} ms", dropped, windowMillis);
+			}
+		}
+		if (inWindow.incrementAndGet() <= maxPerWindow) {
+			logger.warn(format, arguments);
+		} else {
+			suppressed.incrementAndGet();
+		}
+	}
+}
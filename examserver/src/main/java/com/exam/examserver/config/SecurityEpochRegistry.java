@@ -0,0 +1,48 @@
+package com.exam.examserver.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.exam.examserver.model.user.User;
+
+/**
+ * Per-user security epochs, used to revoke every token issued to a user at once.
+ *
+ * <p>Tokens embed the epoch of their user at issue time. Changing something that affects
+ * authentication (password, enabled flag) bumps the epoch stored on the user row, and
+ * tokens carrying an older epoch are no longer accepted. Deleting a user needs no bump: the
+ * user can no longer be loaded, so none of its tokens authenticate.</p>
+ *
+ * <p>Since the epoch lives in the {@code users} table it survives restarts and is shared by
+ * every instance. Requests read it through the user cache, so another instance notices a
+ * bump when its cached copy of the user is evicted or expires
+ * ({@code exam.security.user-cache.ttl-ms}).</p>
+ */
+@Component
+public class SecurityEpochRegistry {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(SecurityEpochRegistry.class);
+
+	/**
+	 * Invalidates every token issued to the user so far. The new epoch is written with the
+	 * managed entity, when the caller's transaction commits.
+	 *
+	 * @param user the managed user entity
+	 */
+	public void bump(User user) {
+		// Strictly increasing even if called twice within the same millisecond
+		long epoch = Math.max(user.getSecurityEpoch() + 1, System.currentTimeMillis());
+		user.setSecurityEpoch(epoch);
+		LOGGER.info("Security epoch of user ID {} bumped to {}", user.getId(), epoch);
+	}
+
+	/**
+	 * @param user       the user as currently stored
+	 * @param tokenEpoch the epoch carried by the token, {@code 0} for tokens issued without one
+	 * @return whether a token carrying the given epoch is still valid for the user
+	 */
+	public boolean isCurrent(User user, long tokenEpoch) {
+		return tokenEpoch >= user.getSecurityEpoch();
+	}
+}
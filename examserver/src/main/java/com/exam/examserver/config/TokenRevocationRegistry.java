@@ -0,0 +1,275 @@
+package com.exam.examserver.config;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.exam.examserver.monitoring.MetricsSource;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * In-memory registry of revoked token ids ({@code jti}), used to reject logged-out tokens
+ * without a database read.
+ *
+ * <p>Lookups go through a Bloom filter first: a token that was never revoked, which is almost
+ * every token, is answered from a few bit reads. Only a Bloom hit consults the exact set,
+ * which maps each revoked id to its token expiry. Entries are dropped once their token has
+ * expired, and the Bloom filter is then rebuilt from the remaining entries.</p>
+ *
+ * <p>When {@code exam.security.revocation.snapshot-file} is set, each revocation is appended
+ * to that file and the file is compacted on purge, so logouts survive a restart. Without it,
+ * the registry starts empty and tokens logged out before a restart are accepted again until
+ * they expire.</p>
+ *
+ * <p>Only single-token logouts are kept here. Revoking every token of a user, on a password
+ * change, when the user is disabled or when it is deleted, does not depend on this registry
+ * or its snapshot: it is stored with the user, see {@link SecurityEpochRegistry}, and
+ * survives restarts in every configuration.</p>
+ */
+@Component
+public class TokenRevocationRegistry implements MetricsSource {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(TokenRevocationRegistry.class);
+
+	private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+	private final int bloomBits;
+	private final int bloomHashes;
+	private final Path snapshotFile;
+	private final Object writeLock = new Object();
+	private volatile AtomicLongArray bloom;
+
+	private final AtomicLong lookups = new AtomicLong();
+	private final AtomicLong bloomHits = new AtomicLong();
+	private final AtomicLong falsePositives = new AtomicLong();
+	private final AtomicLong rebuilds = new AtomicLong();
+
+	public TokenRevocationRegistry(
+			@Value("${exam.security.revocation.expected-tokens:100000}") int expectedTokens,
+			@Value("${exam.security.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+			@Value("${exam.security.revocation.snapshot-file:}") String snapshotFile) {
+		if (expectedTokens < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+			throw new IllegalArgumentException("Invalid revocation Bloom filter sizing");
+		}
+		// Standard sizing: m = -n ln p / (ln 2)^2 bits, k = m / n ln 2 hash functions
+		long bits = (long) Math.ceil(-expectedTokens * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+		this.bloomBits = (int) Math.min(Integer.MAX_VALUE - 63, Math.max(64, bits));
+		this.bloomHashes = Math.max(1, (int) Math.round((double) bloomBits / expectedTokens * Math.log(2)));
+		this.bloom = new AtomicLongArray((bloomBits + 63) / 64);
+		this.snapshotFile = snapshotFile == null || snapshotFile.isBlank() ? null : Paths.get(snapshotFile);
+	}
+
+	@PostConstruct
+	void loadSnapshot() {
+		if (snapshotFile == null || !Files.exists(snapshotFile)) {
+			return;
+		}
+		long now = System.currentTimeMillis();
+		int loaded = 0;
+		try (BufferedReader reader = Files.newBufferedReader(snapshotFile, StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				int space = line.indexOf(' ');
+				if (space <= 0) {
+					continue;
+				}
+				try {
+					long expiresAt = Long.parseLong(line.substring(space + 1).trim());
+					if (expiresAt > now) {
+						String jti = line.substring(0, space);
+						revoked.put(jti, expiresAt);
+						addToBloom(bloom, jti);
+						loaded++;
+					}
+				} catch (NumberFormatException e) {
+					LOGGER.warn("Skipping malformed revocation snapshot line: {}", line);
+				}
+			}
+		} catch (IOException e) {
+			LOGGER.error("Could not read revocation snapshot {}: {}", snapshotFile, e.getMessage());
+			return;
+		}
+		LOGGER.info("Loaded {} revoked tokens from {}", loaded, snapshotFile);
+		writeSnapshot();
+	}
+
+	/**
+	 * Revokes a token until its expiry.
+	 *
+	 * @param jti       the token id
+	 * @param expiresAt the token expiry, in epoch milliseconds
+	 */
+	public void revoke(String jti, long expiresAt) {
+		if (jti == null || expiresAt <= System.currentTimeMillis()) {
+			return;
+		}
+		// Serialized with rebuilds so a revocation cannot be lost while the Bloom filter is swapped
+		synchronized (writeLock) {
+			revoked.put(jti, expiresAt);
+			addToBloom(bloom, jti);
+			appendToSnapshot(jti, expiresAt);
+		}
+		LOGGER.debug("Revoked token {} until {}", jti, expiresAt);
+	}
+
+	/**
+	 * @return whether the token with the given id has been revoked and has not yet expired
+	 */
+	public boolean isRevoked(String jti) {
+		if (jti == null) {
+			return false;
+		}
+		lookups.incrementAndGet();
+		if (!mightContain(bloom, jti)) {
+			return false;
+		}
+		bloomHits.incrementAndGet();
+		Long expiresAt = revoked.get(jti);
+		if (expiresAt == null) {
+			falsePositives.incrementAndGet();
+			return false;
+		}
+		return expiresAt > System.currentTimeMillis();
+	}
+
+	/**
+	 * Drops revocations whose token has expired and rebuilds the Bloom filter without them.
+	 */
+	@Scheduled(fixedDelayString = "${exam.security.revocation.purge-interval-ms:600000}")
+	public void purgeExpired() {
+		long now = System.currentTimeMillis();
+		synchronized (writeLock) {
+			if (!revoked.values().removeIf(expiresAt -> expiresAt <= now)) {
+				return;
+			}
+			AtomicLongArray rebuilt = new AtomicLongArray(bloom.length());
+			for (String jti : revoked.keySet()) {
+				addToBloom(rebuilt, jti);
+			}
+			bloom = rebuilt;
+			rebuilds.incrementAndGet();
+			writeSnapshot();
+		}
+		LOGGER.debug("Rebuilt revocation Bloom filter with {} entries", revoked.size());
+	}
+
+	@PreDestroy
+	void flushSnapshot() {
+		synchronized (writeLock) {
+			writeSnapshot();
+		}
+	}
+
+	private void addToBloom(AtomicLongArray bits, String jti) {
+		long hash1 = hash(jti, 0x9E3779B97F4A7C15L);
+		long hash2 = hash(jti, 0xC2B2AE3D27D4EB4FL) | 1;
+		for (int i = 0; i < bloomHashes; i++) {
+			int bit = (int) Long.remainderUnsigned(hash1 + i * hash2, bloomBits);
+			int word = bit >>> 6;
+			long mask = 1L << bit;
+			long current;
+			do {
+				current = bits.get(word);
+			} while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+		}
+	}
+
+	private boolean mightContain(AtomicLongArray bits, String jti) {
+		long hash1 = hash(jti, 0x9E3779B97F4A7C15L);
+		long hash2 = hash(jti, 0xC2B2AE3D27D4EB4FL) | 1;
+		for (int i = 0; i < bloomHashes; i++) {
+			int bit = (int) Long.remainderUnsigned(hash1 + i * hash2, bloomBits);
+			if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * 64-bit FNV-1a over the characters, seeded and finished with a SplitMix64 mix.
+	 */
+	private static long hash(String value, long seed) {
+		long h = 0xCBF29CE484222325L ^ seed;
+		for (int i = 0; i < value.length(); i++) {
+			h ^= value.charAt(i);
+			h *= 0x100000001B3L;
+		}
+		h ^= h >>> 30;
+		h *= 0xBF58476D1CE4E5B9L;
+		h ^= h >>> 27;
+		h *= 0x94D049BB133111EBL;
+		return h ^ (h >>> 31);
+	}
+
+	private void appendToSnapshot(String jti, long expiresAt) {
+		if (snapshotFile == null) {
+			return;
+		}
+		try {
+			Files.writeString(snapshotFile, jti + " " + expiresAt + System.lineSeparator(), StandardCharsets.UTF_8,
+					StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+		} catch (IOException e) {
+			LOGGER.error("Could not append to revocation snapshot {}: {}", snapshotFile, e.getMessage());
+		}
+	}
+
+	/**
+	 * Rewrites the snapshot with the live entries only, replacing the file atomically.
+	 */
+	private void writeSnapshot() {
+		if (snapshotFile == null) {
+			return;
+		}
+		try {
+			Path absolute = snapshotFile.toAbsolutePath();
+			Files.createDirectories(absolute.getParent());
+			Path temp = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+			try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+				for (Map.Entry<String, Long> entry : revoked.entrySet()) {
+					writer.write(entry.getKey() + " " + entry.getValue() + System.lineSeparator());
+				}
+			}
+			Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			LOGGER.error("Could not write revocation snapshot {}: {}", snapshotFile, e.getMessage());
+		}
+	}
+
+	@Override
+	public String getMetricsName() {
+		return "tokenRevocation";
+	}
+
+	@Override
+	public Map<String, Object> getMetrics() {
+		Map<String, Object> metrics = new LinkedHashMap<>();
+		metrics.put("revokedTokens", revoked.size());
+		metrics.put("bloomBits", bloomBits);
+		metrics.put("bloomHashes", bloomHashes);
+		metrics.put("lookups", lookups.get());
+		metrics.put("bloomHits", bloomHits.get());
+		metrics.put("falsePositives", falsePositives.get());
+		metrics.put("rebuilds", rebuilds.get());
+		metrics.put("snapshotFile", snapshotFile != null ? snapshotFile.toString() : null);
+		return metrics;
+	}
+}
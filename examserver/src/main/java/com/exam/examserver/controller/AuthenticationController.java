@@ -5,18 +5,16 @@ import java.security.Principal;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.DisabledException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.exam.examserver.config.JwtUtil;
@@ -24,7 +22,10 @@ import com.exam.examserver.model.dto.ErrorResponse;
 import com.exam.examserver.model.jwt.JwtRequest;
 import com.exam.examserver.model.jwt.JwtResponse;
 import com.exam.examserver.model.user.User;
+import com.exam.examserver.service.ILoginService;
+import com.exam.examserver.service.LoginThrottledException;
 
+import io.jsonwebtoken.Claims;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -41,7 +42,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 public class AuthenticationController {
 
 	@Autowired
-	private AuthenticationManager authenticationManager;
+	private ILoginService loginService;
 	@Autowired
 	private UserDetailsService userDetailService;
 	@Autowired
@@ -53,13 +54,14 @@ public class AuthenticationController {
 	 * Authenticates a user and generates a JWT token upon successful login.
 	 *
 	 * <p>This endpoint accepts a {@link JwtRequest} containing the username and password,
-	 * attempts to authenticate the user, and returns a JWT token if authentication succeeds.
-	 * In case of authentication failure, appropriate HTTP status codes and error messages
-	 * are returned:
+	 * authenticates the user through {@link ILoginService}, which checks the password on the
+	 * bounded hashing pool, and returns a JWT token for the user it loaded if authentication
+	 * succeeds. In case of authentication failure, appropriate HTTP status codes and error
+	 * messages are returned:
 	 * <ul>
-	 *   <li>404 - User not found</li>
 	 *   <li>403 - User account is disabled</li>
 	 *   <li>401 - Invalid username or password</li>
+	 *   <li>503 - Too many logins in progress, with a {@code Retry-After} header</li>
 	 *   <li>500 - Internal server error for unexpected exceptions</li>
 	 * </ul>
 	 *
@@ -96,8 +98,8 @@ public class AuthenticationController {
 		            )
 		        ),
 		        @ApiResponse(
-		            responseCode = "404",
-		            description = "User not found.",
+		            responseCode = "503",
+		            description = "Too many logins in progress. Retry after the number of seconds in the Retry-After header.",
 		            content = @Content(
 		                mediaType = "application/json",
 		                schema = @Schema(implementation = ErrorResponse.class)
@@ -118,19 +120,18 @@ public class AuthenticationController {
 	    LOGGER.info("Attempting authentication for user: {}", jwtRequest.getUsername());
 
 	    try {
-	        authenticate(jwtRequest.getUsername(), jwtRequest.getPassword());
-
-	        UserDetails userDetails = this.userDetailService.loadUserByUsername(jwtRequest.getUsername());
-	        String authToken = this.jwtUtils.generateToken(userDetails);
+	        User user = loginService.authenticate(jwtRequest.getUsername(), jwtRequest.getPassword());
+	        String authToken = this.jwtUtils.generateToken(user);
 
 	        LOGGER.info("JWT token generated successfully for user: {}", jwtRequest.getUsername());
 	        return ResponseEntity.ok(new JwtResponse(authToken));
 
-	    } catch (UsernameNotFoundException e) {
-	        LOGGER.error("User not found: {}", jwtRequest.getUsername());
+	    } catch (LoginThrottledException e) {
+	        LOGGER.warn("Login for user {} throttled: {}", jwtRequest.getUsername(), e.getMessage());
 	        return ResponseEntity
-	                .status(404)
-	                .body(new ErrorResponse("User not found"));
+	                .status(503)
+	                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+	                .body(new ErrorResponse("Too many logins in progress, please retry shortly"));
 	    } catch (DisabledException e) {
 	        LOGGER.warn("User {} is disabled", jwtRequest.getUsername());
 	        return ResponseEntity
@@ -154,7 +155,8 @@ public class AuthenticationController {
      *
      * <p>This endpoint uses the {@link Principal} object provided by Spring Security
      * to obtain the username of the logged-in user. It then loads the user details
-     * from the {@link UserDetailsService} and returns the corresponding {@link User} object.</p>
+     * from the {@link UserDetailsService}, which serves them from the user cache, and returns
+     * the corresponding {@link User} object.</p>
      *
      * @param principal the security principal representing the authenticated user
      * @return the {@link User} entity corresponding to the authenticated username
@@ -187,13 +189,47 @@ public class AuthenticationController {
 	}
 
     /**
-     * Authenticates the user using provided username and password.
+     * Logs the current user out by revoking the bearer token of the request.
+     *
+     * <p>The token id is added to the in-memory revocation registry until the token expires,
+     * so later requests with the same token are rejected without a database read. Other tokens
+     * of the same user stay valid.</p>
      *
-     * @param username user's username
-     * @param password user's password
+     * @param authorization the {@code Authorization} header carrying the bearer token
+     * @return 204 if the token was revoked, or 400 if it cannot be revoked individually
      */
-	private void authenticate(String username, String password) {
-	    authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(username, password));
-	    LOGGER.info("User {} authenticated successfully", username);
+	@Operation(
+		    summary = "Log out",
+		    description = "Revokes the bearer token used for this request until it expires.",
+		    responses = {
+		        @ApiResponse(responseCode = "204", description = "Token revoked"),
+		        @ApiResponse(
+		            responseCode = "400",
+		            description = "The token has no id and cannot be revoked; it was issued before revocation support.",
+		            content = @Content(
+		                mediaType = "application/json",
+		                schema = @Schema(implementation = ErrorResponse.class)
+		            )
+		        ),
+		        @ApiResponse(
+		            responseCode = "401",
+		            description = "Unauthorized. No valid JWT token provided",
+		            content = @Content(
+		                mediaType = "application/json",
+		                schema = @Schema(implementation = ErrorResponse.class)
+		            )
+		        )
+		    }
+		)
+	@PostMapping("/logout")
+	public ResponseEntity<?> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization, Principal principal) {
+		// The filter has already verified this token, so its claims come from the cache
+		Claims claims = this.jwtUtils.parseClaims(authorization.substring("Bearer ".length()));
+		if (!this.jwtUtils.revoke(claims)) {
+			LOGGER.warn("Token of user {} has no id and cannot be revoked", principal.getName());
+			return ResponseEntity.badRequest().body(new ErrorResponse("Token cannot be revoked"));
+		}
+		LOGGER.info("User {} logged out", principal.getName());
+		return ResponseEntity.noContent().build();
 	}
 }
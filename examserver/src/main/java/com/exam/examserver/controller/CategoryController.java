@@ -21,9 +21,10 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.exam.examserver.model.dto.CategoryQuizCountResponseDTO;
+import com.exam.examserver.model.dto.QuizSummaryDTO;
 import com.exam.examserver.model.exam.category.Category;
-import com.exam.examserver.model.exam.quiz.Quiz;
 import com.exam.examserver.service.ICategoryService;
+import com.exam.examserver.service.IQuizService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -41,6 +42,8 @@ public class CategoryController {
 
 	@Autowired
 	private ICategoryService categoryService;
+	@Autowired
+	private IQuizService quizService;
 
 	/**
 	 * Create a new category.
@@ -156,16 +159,24 @@ public class CategoryController {
 	 * @param page   the page number to retrieve (zero-based)
 	 * @param size   the number of elements per page
 	 * @param search an optional search term to filter categories by title or description
+	 * @param after  when present, switches to cursor pagination: the {@code next} token of the
+	 *               previous page, or empty for the first page; {@code page} is ignored
 	 * @return a ResponseEntity containing a Page of Category objects
 	 */
 	@Operation(
 		summary = "Get paginated categories",
-		description = "Retrieves categories paginated and optionally filtered by search term",
+		description = "Retrieves categories paginated and optionally filtered by search term. "
+				+ "With after (empty for the first page) categories are paged by cursor in title order: "
+				+ "the response holds content, hasNext and the next token to pass as after.",
 		responses = {
 			@ApiResponse(
 				responseCode = "200",
 				description = "Paginated categories retrieved successfully",
 				content = @Content(schema = @Schema(implementation = Page.class))
+			),
+			@ApiResponse(
+				responseCode = "400",
+				description = "Invalid after token"
 			)
 		}
 	)
@@ -173,7 +184,18 @@ public class CategoryController {
 	public ResponseEntity<?> getCategoriesPaged(
 			@RequestParam(defaultValue = "0") int page,
 			@RequestParam(defaultValue = "10") int size,
-			@RequestParam(required = false) String search) {
+			@RequestParam(required = false) String search,
+			@RequestParam(required = false) String after) {
+
+		if (after != null) {
+			String term = search != null && !search.isBlank() ? search.trim() : null;
+			try {
+				return ResponseEntity.ok(categoryService.getCategoriesAfter(term, after, size));
+			} catch (IllegalArgumentException e) {
+				LOGGER.warn("Rejected category cursor page: {}", e.getMessage());
+				return ResponseEntity.badRequest().build();
+			}
+		}
 
 		Page<Category> categories;
 
@@ -268,15 +290,7 @@ public class CategoryController {
 	public ResponseEntity<List<CategoryQuizCountResponseDTO>> getQuizCountForAllCategories() {
 	    LOGGER.info("Received request to get quiz count for all categories");
 
-	    Set<Category> categories = categoryService.getCategories();
-
-	    List<CategoryQuizCountResponseDTO> result = categories.stream().map(category -> {
-	        CategoryQuizCountResponseDTO dto = new CategoryQuizCountResponseDTO();
-	        dto.setCategoryId(category.getCid());
-	        dto.setCategoryTitle(category.getTitle());
-	        dto.setQuizCount((category.getQuizzes() != null) ? category.getQuizzes().size() : 0);
-	        return dto;
-	    }).toList();
+	    List<CategoryQuizCountResponseDTO> result = categoryService.getQuizCounts(false);
 
 	    LOGGER.info("Returning quiz count for {} categories", result.size());
 	    return ResponseEntity.ok(result);
@@ -308,18 +322,7 @@ public class CategoryController {
 		public ResponseEntity<List<CategoryQuizCountResponseDTO>> getActiveQuizCountForAllCategories() {
 		    LOGGER.info("Received request to get active quiz count for all categories");
 
-		    Set<Category> categories = categoryService.getCategories();
-
-		    List<CategoryQuizCountResponseDTO> result = categories.stream().map(category -> {
-		        CategoryQuizCountResponseDTO dto = new CategoryQuizCountResponseDTO();
-		        dto.setCategoryId(category.getCid());
-		        dto.setCategoryTitle(category.getTitle());
-		        int activeQuizCount = (category.getQuizzes() != null) 
-		                ? (int) category.getQuizzes().stream().filter(Quiz::isActive).count()
-		                : 0;
-		        dto.setQuizCount(activeQuizCount);
-		        return dto;
-		    }).toList();
+		    List<CategoryQuizCountResponseDTO> result = categoryService.getQuizCounts(true);
 
 		    LOGGER.info("Returning active quiz count for {} categories", result.size());
 		    return ResponseEntity.ok(result);
@@ -335,8 +338,8 @@ public class CategoryController {
 			            content = @Content(
 			                mediaType = "application/json",
 			                schema = @Schema(
-			                    implementation = Quiz.class,
-			                    example = "[{\"id\":1,\"title\":\"Java Basics Quiz\",\"description\":\"Test your basic Java knowledge\",\"active\":true}]"
+			                    implementation = QuizSummaryDTO.class,
+			                    example = "[{\"qId\":1,\"title\":\"Java Basics Quiz\",\"description\":\"Test your basic Java knowledge\",\"active\":true}]"
 			                )
 			            )
 			        ),
@@ -351,18 +354,18 @@ public class CategoryController {
 			    }
 		)
 		@GetMapping("/quizzes/active/{categoryId}")
-		public ResponseEntity<List<Quiz>> getActiveQuizzesByCategory(@PathVariable Long categoryId) {
+		public ResponseEntity<List<QuizSummaryDTO>> getActiveQuizzesByCategory(@PathVariable Long categoryId) {
 		    LOGGER.info("Received request to get active quizzes for category ID: {}", categoryId);
 
-		    Category category = categoryService.getCategory(categoryId);
-		    if (category == null) {
-		        LOGGER.warn("Category with ID {} not found", categoryId);
+		    Category category;
+		    try {
+		        category = categoryService.getCategory(categoryId);
+		    } catch (IllegalArgumentException e) {
 		        return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
 		    }
 
-		    List<Quiz> activeQuizzes = category.getQuizzes().stream()
-		            .filter(Quiz::isActive)
-		            .toList();
+		    // One projection query, filtered and ordered in the database, instead of loading the category's quizzes
+		    List<QuizSummaryDTO> activeQuizzes = quizService.getActiveQuizSummariesByCategory(categoryId);
 
 		    LOGGER.info("Returning {} active quizzes for category '{}'", activeQuizzes.size(), category.getTitle());
 		    return ResponseEntity.ok(activeQuizzes);
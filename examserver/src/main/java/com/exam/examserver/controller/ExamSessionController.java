@@ -0,0 +1,119 @@
+package com.exam.examserver.controller;
+
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.exam.examserver.model.dto.ExamSessionDTO;
+import com.exam.examserver.model.exam.grading.GradingResult;
+import com.exam.examserver.model.user.User;
+import com.exam.examserver.service.IExamSessionService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/exam-session")
+@CrossOrigin("*")
+@Tag(name = "Exam sessions", description = "API for taking quizzes with a server-side paper")
+public class ExamSessionController {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExamSessionController.class);
+
+    @Autowired
+    private IExamSessionService examSessionService;
+
+    /**
+     * Starts a quiz: samples the paper and opens an exam session for the current user. While
+     * the user has a live session for the quiz, that session is returned with its original deadline.
+     *
+     * @param quizId the ID of the quiz to start
+     * @param user   the authenticated user
+     * @return the session id, deadline and delivered questions
+     */
+    @Operation(
+        summary = "Start a quiz",
+        description = "Samples the questions of a quiz and opens a server-side exam session holding their ids, order and deadline. "
+                + "If the user already has a live session for the quiz, that session is returned unchanged",
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Exam session started",
+                content = @Content(schema = @Schema(implementation = ExamSessionDTO.class))
+            ),
+            @ApiResponse(
+                responseCode = "404",
+                description = "Quiz has no questions"
+            ),
+            @ApiResponse(
+                responseCode = "503",
+                description = "Too many quizzes in progress"
+            )
+        }
+    )
+    @PostMapping("/start/{quizId}")
+    public ResponseEntity<ExamSessionDTO> start(@PathVariable Long quizId, @AuthenticationPrincipal User user) {
+        LOGGER.info("Received request to start quiz ID {} for user '{}'", quizId, user.getUsername());
+        return ResponseEntity.ok(examSessionService.start(user, quizId));
+    }
+
+    /**
+     * Submits the answers of an exam session and grades it.
+     *
+     * @param sessionId the session returned when the quiz was started
+     * @param answers   the given answers, by question id
+     * @param user      the authenticated user
+     * @return a map with keys: "marksGot", "correctAnswers", and "attempted"
+     */
+    @Operation(
+        summary = "Submit an exam session",
+        description = "Grades the session's paper against the given questionId -> answer pairs and closes the session",
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Quiz evaluated successfully",
+                content = @Content(schema = @Schema(implementation = Map.class))
+            ),
+            @ApiResponse(
+                responseCode = "403",
+                description = "Session belongs to another user"
+            ),
+            @ApiResponse(
+                responseCode = "404",
+                description = "Session not found or already submitted"
+            ),
+            @ApiResponse(
+                responseCode = "410",
+                description = "Session deadline has passed"
+            )
+        }
+    )
+    @PostMapping("/{sessionId}/submit")
+    public ResponseEntity<Map<String, Object>> submit(
+            @PathVariable String sessionId,
+            @RequestBody Map<Long, String> answers,
+            @AuthenticationPrincipal User user) {
+        GradingResult result = examSessionService.submit(user, sessionId, answers);
+
+        Map<String, Object> mapResponse = Map.of(
+                "marksGot", result.getMarksGot(),
+                "correctAnswers", result.getCorrectAnswers(),
+                "attempted", result.getAttempted()
+        );
+        LOGGER.info("Exam session {} evaluated: {}", sessionId, mapResponse);
+        return ResponseEntity.ok(mapResponse);
+    }
+}
@@ -0,0 +1,61 @@
+package com.exam.examserver.controller;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.exam.examserver.monitoring.MetricsSource;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/monitoring")
+@CrossOrigin("*")
+@Tag(name = "Monitoring", description = "API for in-process cache and pipeline metrics")
+public class MonitoringController {
+
+    @Autowired
+    private List<MetricsSource> metricsSources;
+
+    /**
+     * Retrieves a snapshot of every in-process metrics source (caches, queues, limiters).
+     *
+     * @return a map of metrics keyed by source name
+     */
+    @Operation(
+        summary = "Get in-process metrics",
+        description = "Returns hit/miss counters, queue depths and other in-process metrics. Requires ADMIN authority.",
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Metrics retrieved successfully",
+                content = @Content(schema = @Schema(implementation = Map.class))
+            ),
+            @ApiResponse(
+                responseCode = "403",
+                description = "Caller is not an administrator"
+            )
+        }
+    )
+    @GetMapping("/metrics")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Map<String, Map<String, Object>>> getMetrics() {
+        Map<String, Map<String, Object>> metrics = new LinkedHashMap<>();
+        for (MetricsSource source : metricsSources) {
+            metrics.put(source.getMetricsName(), source.getMetrics());
+        }
+        return ResponseEntity.ok(metrics);
+    }
+}
@@ -1,19 +1,20 @@
 package com.exam.examserver.controller;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Collections;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -27,20 +28,28 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.exam.examserver.files.IFileService;
+import com.exam.examserver.model.dto.CompactSubmissionDTO;
+import com.exam.examserver.model.dto.QuestionDeliveryDTO;
+import com.exam.examserver.model.dto.QuestionImportResultDTO;
+import com.exam.examserver.model.exam.grading.GradingResult;
 import com.exam.examserver.model.exam.question.Question;
 import com.exam.examserver.model.exam.quiz.Quiz;
-import com.exam.examserver.model.exam.quizattempt.QuizAttempt;
-import com.exam.examserver.model.questionattempt.QuestionAttempt;
 import com.exam.examserver.model.user.User;
+import com.exam.examserver.service.IAttemptHistoryService;
+import com.exam.examserver.service.IExamSessionService;
+import com.exam.examserver.service.IGradingService;
+import com.exam.examserver.service.IQuestionExportService;
+import com.exam.examserver.service.IQuestionImportService;
+import com.exam.examserver.service.IQuestionSamplingService;
 import com.exam.examserver.service.IQuestionService;
-import com.exam.examserver.service.IQuizAttemptService;
 import com.exam.examserver.service.IQuizService;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -62,7 +71,17 @@ public class QuestionController {
     @Autowired
     private IFileService fileService;
     @Autowired
-    private IQuizAttemptService quizAttemptService;
+    private IAttemptHistoryService attemptHistoryService;
+    @Autowired
+    private IGradingService gradingService;
+    @Autowired
+    private IQuestionImportService questionImportService;
+    @Autowired
+    private IQuestionExportService questionExportService;
+    @Autowired
+    private IQuestionSamplingService questionSamplingService;
+    @Autowired
+    private IExamSessionService examSessionService;
 
     /**
      * Create a new question.
@@ -164,16 +183,17 @@ public class QuestionController {
      * Retrieve questions for a specific quiz.
      *
      * @param qid the ID of the quiz
-     * @return a list of questions for the quiz
+     * @return the drawn questions, without answers unless the caller is an admin
      */
     @Operation(
         summary = "Get questions by quiz",
-        description = "Retrieves questions for a specific quiz and limits to configured number",
+        description = "Draws the paper of a quiz, limited to its configured number of questions. "
+                + "Each question carries a reference to its quiz; answers are only included for admins.",
         responses = {
             @ApiResponse(
                 responseCode = "200",
                 description = "Questions retrieved successfully",
-                content = @Content(schema = @Schema(implementation = Question.class))
+                content = @Content(array = @ArraySchema(schema = @Schema(implementation = QuestionDeliveryDTO.class)))
             ),
             @ApiResponse(
                 responseCode = "404",
@@ -183,19 +203,79 @@ public class QuestionController {
     )
     @GetMapping("/quiz/{qid}")
     public ResponseEntity<?> getQuestionsByQuiz(@PathVariable Long qid) {
-        Quiz quiz = quizService.getQuiz(qid);
-        Set<Question> questionsOfQuiz = quiz.getQuestions();
-        List<Question> list = new ArrayList<>(questionsOfQuiz);
-        Collections.shuffle(list);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Long userId = authentication != null && authentication.getPrincipal() instanceof User user ? user.getId() : null;
+        boolean admin = authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ADMIN".equals(authority.getAuthority()));
 
-        if (list.size() > quiz.getNumberOfQuestions()) {
-            list = list.subList(0, quiz.getNumberOfQuestions());
-        }
+        // Only numberOfQuestions random questions are loaded, never the whole bank; students never get the answers
+        List<QuestionDeliveryDTO> list = questionSamplingService.samplePaper(qid, userId, admin);
 
-        LOGGER.info("Fetched {} questions for Quiz ID {}: '{}'", list.size(), quiz.getqId(), quiz.getTitle());
+        LOGGER.info("Fetched {} questions for Quiz ID {}", list.size(), qid);
         return ResponseEntity.ok(list);
     }
 
+    /**
+     * Exports the whole question bank of a quiz, including answers.
+     * <p>
+     * Questions are streamed from a database cursor straight to the response, so the bank is
+     * never held in memory. Both formats can be uploaded again through
+     * {@code /question/upload-json?streaming=true}, which always inserts new questions; its
+     * {@code quizId} parameter imports them into another quiz than the exported one, e.g. in
+     * another environment. The default JSON array is also accepted without {@code streaming}.
+     * </p>
+     *
+     * @param qid    the ID of the quiz
+     * @param format {@code json} for a JSON array (default) or {@code jsonl} for JSON Lines
+     * @return the streamed questions as a file download
+     */
+    @Operation(
+        summary = "Export questions of a quiz",
+        description = "Streams every question of a quiz as JSON Lines or a JSON array, for backups and for moving banks between environments",
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Questions streamed successfully"
+            ),
+            @ApiResponse(
+                responseCode = "400",
+                description = "Unsupported format"
+            ),
+            @ApiResponse(
+                responseCode = "404",
+                description = "Quiz not found"
+            )
+        }
+    )
+    @GetMapping("/quiz/{qid}/export")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportQuestions(
+            @PathVariable Long qid,
+            @RequestParam(defaultValue = "json") String format) {
+        boolean jsonLines;
+        if ("jsonl".equalsIgnoreCase(format)) {
+            jsonLines = true;
+        } else if ("json".equalsIgnoreCase(format)) {
+            jsonLines = false;
+        } else {
+            LOGGER.warn("Unsupported export format '{}' for Quiz ID {}", format, qid);
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            quizService.getQuiz(qid);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+
+        LOGGER.info("Exporting questions of Quiz ID {} as {}", qid, jsonLines ? "JSON Lines" : "JSON");
+        StreamingResponseBody body = out -> questionExportService.exportQuestions(qid, jsonLines, out);
+        String filename = "quiz-" + qid + "-questions." + (jsonLines ? "jsonl" : "json");
+        return ResponseEntity.ok()
+                .contentType(jsonLines ? MediaType.parseMediaType("application/x-ndjson") : MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+
     /**
      * Retrieves a paginated list of questions for a specific quiz.
      *
@@ -203,16 +283,28 @@ public class QuestionController {
      * @param page   the page number to retrieve (0-based)
      * @param size   the number of questions per page
      * @param search optional search term
+     * @param count  whether to count the questions of an unfiltered listing; when {@code false}
+     *               a slice without totals is returned, which saves the count on large banks
+     * @param after  when present, switches to cursor pagination: the {@code next} token of the
+     *               previous page, or empty for the first page; {@code page} is ignored
      * @return a page of questions matching criteria
      */
     @Operation(
         summary = "Get paginated questions by quiz",
-        description = "Retrieves paginated questions for a quiz, optionally filtered by search term",
+        description = "Retrieves paginated questions for a quiz, optionally filtered by search term. "
+                + "Questions are ordered by id. Without a search term, count=false returns a slice "
+                + "without totalElements/totalPages. "
+                + "With after (empty for the first page) questions are paged by cursor in id order: "
+                + "the response holds content, hasNext and the next token to pass as after.",
         responses = {
             @ApiResponse(
                 responseCode = "200",
                 description = "Paginated questions retrieved successfully",
                 content = @Content(schema = @Schema(implementation = Page.class))
+            ),
+            @ApiResponse(
+                responseCode = "400",
+                description = "Invalid after token"
             )
         }
     )
@@ -221,13 +313,26 @@ public class QuestionController {
             @PathVariable Long qid,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(required = false) String search
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "true") boolean count,
+            @RequestParam(required = false) String after
     ) {
+        if (after != null) {
+            String term = search != null && !search.isBlank() ? search.trim() : null;
+            try {
+                return ResponseEntity.ok(quizService.getQuestionsByQuizAfter(qid, term, after, size));
+            } catch (IllegalArgumentException e) {
+                LOGGER.warn("Rejected question cursor page: {}", e.getMessage());
+                return ResponseEntity.badRequest().build();
+            }
+        }
         Page<Question> questions;
 
         if (search != null && !search.isBlank()) {
             String trimmed = search.trim();
             questions = quizService.searchQuestionsByQuizPaged(qid, trimmed, page, size);
+        } else if (!count) {
+            return ResponseEntity.ok(quizService.getQuestionsByQuizSlice(qid, page, size));
         } else {
             questions = quizService.getQuestionsByQuizPaged(qid, page, size);
         }
@@ -309,7 +414,7 @@ public class QuestionController {
             ),
             @ApiResponse(
                     responseCode = "400",
-                    description = "Invalid input"
+                    description = "Invalid input: no questions, an unknown question, or questions of several quizzes"
             ),
             @ApiResponse(
                     responseCode = "500",
@@ -318,46 +423,86 @@ public class QuestionController {
     })
     @PostMapping("/eval-quiz")
     public ResponseEntity<Map<String, Object>> evalQuiz(@RequestBody List<Question> questions) {
-        double marksGot = 0.0;
-        double correctAnswers = 0.0;
-        int attempted = 0;
-        Quiz currentQuiz = questions.get(0).getQuiz();
-
         LOGGER.info("Evaluating quiz with {} questions", questions.size());
 
-        for (Question q : questions) {
-            Question question = questionService.getQuestion(q.getQuesId());
-            LOGGER.debug("Evaluating Question ID: {}, Correct Answer: {}, Given Answer: {}", 
-                         q.getQuesId(), question.getAnswer(), q.getGivenAnswer());
-
-            if (question.getAnswer().trim().equals(q.getGivenAnswer().trim())) {
-                correctAnswers++;
-                double marksSingle = currentQuiz.getMaxMarks() / (double) questions.size();
-                marksGot += marksSingle;
-                LOGGER.debug("Question {} correct, marks awarded: {}", q.getQuesId(), marksSingle);
-            }
-
-            if (q.getGivenAnswer() != null && !q.getGivenAnswer().trim().equals("")) {
-                attempted++;
-            }
+        GradingResult result;
+        try {
+            result = gradingService.grade(questions);
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("Rejected quiz submission: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         }
 
-        marksGot = Math.round(marksGot * 100.0) / 100.0; // Round to 2 decimals
-
         Map<String, Object> mapResponse = Map.of(
-                "marksGot", marksGot,
-                "correctAnswers", correctAnswers,
-                "attempted", attempted
+                "marksGot", result.getMarksGot(),
+                "correctAnswers", result.getCorrectAnswers(),
+                "attempted", result.getAttempted()
         );
         
-        saveHistoryAttempt(marksGot, correctAnswers, attempted, currentQuiz, questions);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        attemptHistoryService.record((User) authentication.getPrincipal(), result);
 
         LOGGER.info("Quiz evaluation finished: {}", mapResponse);
 
         return ResponseEntity.ok(mapResponse);
     }
-    
-    
+
+
+    /**
+     * Evaluates a quiz submitted in the compact wire format.
+     * <p>
+     * The body only carries the quiz id, the exam session id and {@code [quesId, optionIndex]}
+     * pairs, instead of whole questions. The session's whole paper is graded, so questions
+     * left out of the submission count as unanswered and a partial submission cannot earn
+     * the full marks of the quiz.
+     * </p>
+     *
+     * @param submission the compact submission
+     * @return A ResponseEntity containing a map with keys: "marksGot", "correctAnswers", and "attempted".
+     */
+    @Operation(
+            summary = "Evaluate Quiz (compact)",
+            description = "Evaluates a submission of the form {quizId, sessionId, answers: [[quesId, optionIndex], ...]} against the paper of the exam session; optionIndex is 1-4, 0 for unanswered."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Quiz evaluated successfully",
+                    content = @Content(schema = @Schema(implementation = Map.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid input or missing session id"
+            )
+    })
+    @PostMapping("/eval-compact")
+    public ResponseEntity<?> evalQuizCompact(@RequestBody CompactSubmissionDTO submission) {
+        User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+
+        if (submission.getSessionId() == null || submission.getSessionId().isBlank()) {
+            // Grading only the submitted pairs would let one correct answer earn the full marks
+            LOGGER.warn("Rejected compact submission for quiz ID {} without a session", submission.getQuizId());
+            return ResponseEntity.badRequest().body("A session id is required; start the quiz through /exam-session/start");
+        }
+
+        GradingResult result;
+        try {
+            Map<Long, String> givenAnswers = gradingService.resolveAnswers(submission.getQuizId(), submission.getAnswers());
+            result = examSessionService.submit(user, submission.getSessionId(), givenAnswers);
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("Rejected compact submission for quiz ID {}: {}", submission.getQuizId(), e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+
+        Map<String, Object> mapResponse = Map.of(
+                "marksGot", result.getMarksGot(),
+                "correctAnswers", result.getCorrectAnswers(),
+                "attempted", result.getAttempted()
+        );
+        LOGGER.info("Compact quiz evaluation finished: {}", mapResponse);
+        return ResponseEntity.ok(mapResponse);
+    }
+
     /**
      * Save multiple questions at once.
      *
@@ -402,32 +547,96 @@ public class QuestionController {
     /**
      * Receives a JSON file containing a list of questions from the frontend and saves all questions.
      * <p>
-     * The file is read in-memory and deserialized to a list of {@link Question} objects.
-     * No file is stored on the server; questions are directly persisted using {@link #saveAll(List)}.
+     * By default the file is read in-memory and deserialized to a list of {@link Question} objects,
+     * which are persisted in a single transaction using {@link IQuestionService#saveAll(List)}.
+     * With {@code streaming=true} the file, a JSON array or JSON Lines as written by
+     * {@code /question/quiz/{qid}/export}, is parsed question by question and committed in
+     * fixed-size chunks, and a per-chunk summary is returned instead of the saved questions.
+     * No file is stored on the server.
      * </p>
      *
-     * @param file JSON file uploaded from frontend, containing a list of questions
-     * @return ResponseEntity with saved questions on success, or error message on failure
+     * @param file      JSON file uploaded from frontend, containing a list of questions
+     * @param streaming whether to import the file in committed chunks
+     * @param quizId    optional quiz to import every question into, replacing the quiz IDs of the
+     *                  file; the questions are then always inserted as new ones
+     * @return ResponseEntity with saved questions (or the import summary) on success, or error message on failure
      */
+    @Operation(
+            summary = "Upload questions from a JSON file",
+            description = "Saves every question of a JSON array. With streaming=true the file, a JSON array or JSON Lines, "
+                    + "is imported in committed chunks and a per-chunk summary is returned. "
+                    + "quizId imports every question into that quiz instead of the quiz of the file."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Questions saved, or import summary when streaming"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Empty or invalid JSON file"
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Target quiz not found"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Error processing the file"
+            )
+    })
     @PostMapping("/upload-json")
-    public ResponseEntity<?> uploadQuestionsJson(@RequestPart("file") MultipartFile file) {
+    public ResponseEntity<?> uploadQuestionsJson(
+            @RequestPart("file") MultipartFile file,
+            @RequestParam(defaultValue = "false") boolean streaming,
+            @RequestParam(required = false) Long quizId) {
         if (file.isEmpty()) {
             LOGGER.warn("Received empty file for bulk question upload");
             return ResponseEntity.badRequest().body("File is empty");
         }
+        if (quizId != null) {
+            try {
+                quizService.getQuiz(quizId);
+            } catch (IllegalArgumentException e) {
+                LOGGER.warn("Question upload into unknown Quiz ID {}", quizId);
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Quiz not found with ID: " + quizId);
+            }
+        }
+
+        if (streaming) {
+            try (InputStream in = file.getInputStream()) {
+                LOGGER.info("Streaming import of questions from JSON file '{}' ({} bytes)",
+                        file.getOriginalFilename(), file.getSize());
+                QuestionImportResultDTO result = questionImportService.importQuestions(in, quizId);
+                return ResponseEntity.ok(result);
+            } catch (JsonProcessingException e) {
+                LOGGER.warn("Invalid JSON file for question import: {}", e.getOriginalMessage());
+                return ResponseEntity.badRequest().body("Invalid JSON file: " + e.getOriginalMessage());
+            } catch (IOException e) {
+                LOGGER.error("Failed to read questions JSON file", e);
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                                     .body("Error processing JSON file: " + e.getMessage());
+            }
+        }
 
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-            List<Question> questions = objectMapper.readValue(
-                file.getInputStream(),
-                new TypeReference<List<Question>>() {}
-            );
+            List<Question> questions = questionImportService.readQuestions(file.getInputStream());
 
             if (questions.isEmpty()) {
                 LOGGER.warn("Uploaded JSON contains no questions");
                 return ResponseEntity.badRequest().body("JSON file contains no questions");
             }
 
+            if (quizId != null) {
+                for (Question question : questions) {
+                    // A copy into the given quiz: IDs of the file's environment are not reused
+                    Quiz quiz = new Quiz();
+                    quiz.setqId(quizId);
+                    question.setQuesId(null);
+                    question.setQuiz(quiz);
+                }
+            }
+
             LOGGER.info("Uploading {} questions from JSON file", questions.size());
             // Persist all questions
             List<Question> savedQuestions = questionService.saveAll(questions);
@@ -442,66 +651,4 @@ public class QuestionController {
         }
     }
 
-    
-    
-    
-
-    /**
-     * Saves the user's attempt for a given quiz along with the answers to each question.
-     *
-     * <p>This method retrieves the currently authenticated user, creates a {@link QuizAttempt}
-     * entity, and maps each {@link Question} provided into a {@link QuestionAttempt} associated
-     * with the attempt. It calculates correctness for each question based on the given answer
-     * versus the actual answer.</p>
-     *
-     * @param marksGot the total marks obtained by the user in this quiz attempt
-     * @param correctAnswers the number of correctly answered questions
-     * @param attempted the number of questions attempted by the user
-     * @param currentQuiz the {@link Quiz} object representing the quiz being attempted
-     * @param questions the list of {@link Question} objects containing the user's answers
-     *
-     * <p>The method persists the {@link QuizAttempt} with its associated {@link QuestionAttempt} entities
-     * using {@link quizAttemptService}.</p>
-     *
-     * <p>Logs informational and debug messages about the saving process, and logs errors
-     * if the attempt cannot be saved.</p>
-     */
-    private void saveHistoryAttempt(double marksGot, double correctAnswers, int attempted, Quiz currentQuiz, List<Question> questions) {
-        try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            User user = (User) authentication.getPrincipal();
-
-            LOGGER.info("Saving quiz attempt for user '{}' in quiz '{}'", user.getUsername(), currentQuiz.getTitle());
-
-            // 1. Obtener los intentos existentes del usuario para este quiz
-            List<QuizAttempt> existingAttempts = quizAttemptService.findByUserAndQuizOrderByAttemptDateAsc(user, currentQuiz);
-
-            // 2. Si hay más de 9 intentos, eliminar los más antiguos hasta que queden 9
-            while (existingAttempts.size() >= 10) {
-                QuizAttempt oldest = existingAttempts.get(0);
-                quizAttemptService.deleteAttempt(oldest);
-                existingAttempts.remove(0);
-                LOGGER.debug("Deleted oldest quiz attempt (ID: {}) to maintain max 10 history entries", oldest.getId());
-            }
-
-            // 3. Crear el nuevo intento
-            QuizAttempt attempt = new QuizAttempt(currentQuiz, user, marksGot, correctAnswers, attempted);
-            for (Question q : questions) {
-                Question question = questionService.getQuestion(q.getQuesId());
-                boolean isCorrect = question.getAnswer().trim().equals(q.getGivenAnswer().trim());
-                QuestionAttempt qa = new QuestionAttempt(attempt, question, q.getGivenAnswer(), isCorrect);
-                qa.setQuizId(currentQuiz.getqId());
-                attempt.getQuestionAttempts().add(qa);
-            }
-
-            // 4. Guardar el nuevo intento
-            quizAttemptService.saveAttempt(attempt);
-            LOGGER.debug("Quiz attempt successfully saved for user '{}'", user.getUsername());
-
-        } catch (Exception ex) {
-            LOGGER.error("Failed to save quiz attempt for quiz '{}': {}", currentQuiz.getTitle(), ex.getMessage(), ex);
-        }
-    }
-    
-   
 }
@@ -1,13 +1,15 @@
 package com.exam.examserver.controller;
 
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,17 +19,21 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
+import com.exam.examserver.model.dto.QuizSummaryDTO;
 import com.exam.examserver.model.exam.quiz.Quiz;
+import com.exam.examserver.model.user.User;
+import com.exam.examserver.service.IExamSessionService;
 import com.exam.examserver.service.IQuizService;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.parameters.RequestBody;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.servlet.http.HttpSession;
 
 @RestController
 @RequestMapping("/quiz")
@@ -39,6 +45,8 @@ public class QuizController {
 
     @Autowired
     private IQuizService quizService;
+    @Autowired
+    private IExamSessionService examSessionService;
 
     /**
      * Creates a new quiz.
@@ -101,23 +109,23 @@ public class QuizController {
     /**
      * Retrieves all quizzes from the system.
      *
-     * @return ResponseEntity containing a set of all quizzes
+     * @return ResponseEntity containing every quiz with its category, ordered by title
      */
     @Operation(
         summary = "Get all quizzes",
-        description = "Retrieves all quizzes from the system",
+        description = "Retrieves all quizzes from the system, with their category, ordered by title",
         responses = {
             @ApiResponse(
                 responseCode = "200",
                 description = "Quizzes retrieved successfully",
-                content = @Content(schema = @Schema(implementation = Set.class))
+                content = @Content(array = @ArraySchema(schema = @Schema(implementation = QuizSummaryDTO.class)))
             )
         }
     )
     @GetMapping()
     public ResponseEntity<?> getQuizzes() {
         LOGGER.info("Received request to fetch all quizzes");
-        Set<Quiz> quizzes = quizService.getQuizzes();
+        List<QuizSummaryDTO> quizzes = quizService.getQuizSummaries();
         return ResponseEntity.ok(quizzes);
     }
 
@@ -129,16 +137,27 @@ public class QuizController {
      * @param search optional search term to filter quizzes
      * @param categoryId optional category ID to filter quizzes
      * @param active optional filter for active quizzes
+     * @param count whether to count the total matches; when {@code false} a slice without
+     *              totals is returned, which saves the count query on large catalogs
+     * @param after when present, switches to cursor pagination: the {@code next} token of the
+     *              previous page, or empty for the first page; {@code page} and {@code count} are ignored
      * @return ResponseEntity containing a paginated list of quizzes
      */
     @Operation(
         summary = "Get paginated quizzes",
-        description = "Retrieves quizzes paginated and optionally filtered by search term or category",
+        description = "Retrieves quizzes paginated and optionally filtered by search term or category. "
+                + "With count=false the response is a slice without totalElements/totalPages. "
+                + "With after (empty for the first page) quizzes are paged by cursor in title order: "
+                + "the response holds content, hasNext and the next token to pass as after.",
         responses = {
             @ApiResponse(
                 responseCode = "200",
                 description = "Paginated quizzes retrieved successfully",
                 content = @Content(schema = @Schema(implementation = Page.class))
+            ),
+            @ApiResponse(
+                responseCode = "400",
+                description = "Invalid after token"
             )
         }
     )
@@ -148,8 +167,25 @@ public class QuizController {
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String search,
             @RequestParam(required = false) Long categoryId,
-            @RequestParam(required = false) Boolean active
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(defaultValue = "true") boolean count,
+            @RequestParam(required = false) String after
     ) {
+        String term = search != null && !search.isBlank() ? search.trim() : null;
+        if (after != null) {
+            try {
+                return ResponseEntity.ok(quizService.getQuizzesAfter(term, categoryId, active, after, size)
+                        .map(QuizSummaryDTO::of));
+            } catch (IllegalArgumentException e) {
+                LOGGER.warn("Rejected quiz cursor page: {}", e.getMessage());
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        if (!count) {
+            return ResponseEntity.ok(quizService.searchQuizzesSlice(term, categoryId, page, size, active)
+                    .map(QuizSummaryDTO::of));
+        }
+
         Page<Quiz> quizzes;
 
         if (categoryId != null) {
@@ -168,7 +204,7 @@ public class QuizController {
             }
         }
 
-        return ResponseEntity.ok(quizzes);
+        return ResponseEntity.ok(quizzes.map(QuizSummaryDTO::of));
     }
 
     /**
@@ -229,28 +265,37 @@ public class QuizController {
     }
 
     /**
-     * Submits a quiz and clears the corresponding session data.
+     * Submits a quiz and closes the corresponding exam sessions of the authenticated user.
      *
      * @param quizId the ID of the quiz being submitted
-     * @param userId the ID of the user submitting the quiz
-     * @param session the HTTP session from which quiz data will be cleared
+     * @param userId the ID of the user submitting the quiz; must be the authenticated user
+     * @param user   the authenticated user
      * @return ResponseEntity confirming that the quiz has been submitted and session cleared
+     * @throws ResponseStatusException 403 if {@code userId} is not the authenticated user
      */
     @Operation(
         summary = "Submit a quiz",
-        description = "Submits a quiz and clears the corresponding session",
+        description = "Submits a quiz and closes the authenticated user's open exam sessions for it",
         responses = {
             @ApiResponse(
                 responseCode = "200",
                 description = "Quiz submitted successfully and session cleared",
                 content = @Content(schema = @Schema(implementation = String.class))
+            ),
+            @ApiResponse(
+                responseCode = "403",
+                description = "The user ID is not the authenticated user"
             )
         }
     )
     @PostMapping("/submit/{quizId}/{userId}")
-    public ResponseEntity<?> submitQuiz(@PathVariable Long quizId, @PathVariable Long userId, HttpSession session) {
-        String sessionKey = "quizOrder:" + userId + ":" + quizId;
-        session.removeAttribute(sessionKey);
+    public ResponseEntity<?> submitQuiz(@PathVariable Long quizId, @PathVariable Long userId,
+            @AuthenticationPrincipal User user) {
+        if (!user.getId().equals(userId)) {
+            LOGGER.warn("User ID {} tried to close the sessions of user ID {} on quiz ID {}", user.getId(), userId, quizId);
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Cannot submit a quiz for another user");
+        }
+        examSessionService.close(user.getId(), quizId);
         return ResponseEntity.ok("Quiz submitted, session cleared");
     }
 }
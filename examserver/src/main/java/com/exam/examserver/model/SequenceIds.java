@@ -0,0 +1,17 @@
+package com.exam.examserver.model;
+
+/**
+ * Settings shared by the pooled id sequences of the entities.
+ */
+public final class SequenceIds {
+
+	/**
+	 * Ids reserved per sequence round trip. Used by every entity {@code @SequenceGenerator} and by
+	 * {@link com.exam.examserver.config.IdSequenceAligner}; it should not be below
+	 * {@code hibernate.jdbc.batch_size}, or a batch of inserts needs several round trips.
+	 */
+	public static final int ALLOCATION_SIZE = 50;
+
+	private SequenceIds() {
+	}
+}
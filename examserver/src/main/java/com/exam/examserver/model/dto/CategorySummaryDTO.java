@@ -0,0 +1,46 @@
+package com.exam.examserver.model.dto;
+
+/**
+ * Category fields shown next to a quiz in listings.
+ */
+public class CategorySummaryDTO {
+
+	private Long cid;
+	private String title;
+	private String description;
+
+	public CategorySummaryDTO() {
+		super();
+	}
+
+	public CategorySummaryDTO(Long cid, String title, String description) {
+		super();
+		this.cid = cid;
+		this.title = title;
+		this.description = description;
+	}
+
+	public Long getCid() {
+		return cid;
+	}
+
+	public void setCid(Long cid) {
+		this.cid = cid;
+	}
+
+	public String getTitle() {
+		return title;
+	}
+
+	public void setTitle(String title) {
+		this.title = title;
+	}
+
+	public String getDescription() {
+		return description;
+	}
+
+	public void setDescription(String description) {
+		this.description = description;
+	}
+}
@@ -0,0 +1,41 @@
+package com.exam.examserver.model.dto;
+
+/**
+ * Minimal quiz submission: each answer is a {@code [quesId, optionIndex]} pair where the
+ * option index is 1 to 4 and 0 means not answered. The session id is required: the paper of
+ * that exam session is what gets graded.
+ */
+public class CompactSubmissionDTO {
+
+	private Long quizId;
+	private String sessionId;
+	private long[][] answers;
+
+	public CompactSubmissionDTO() {
+	}
+
+	public Long getQuizId() {
+		return quizId;
+	}
+
+	public void setQuizId(Long quizId) {
+		this.quizId = quizId;
+	}
+
+	public String getSessionId() {
+		return sessionId;
+	}
+
+	public void setSessionId(String sessionId) {
+		this.sessionId = sessionId;
+	}
+
+	public long[][] getAnswers() {
+		return answers;
+	}
+
+	public void setAnswers(long[][] answers) {
+		this.answers = answers;
+	}
+
+}
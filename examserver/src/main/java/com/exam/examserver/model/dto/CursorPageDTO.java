@@ -0,0 +1,68 @@
+package com.exam.examserver.model.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing. Unlike a {@code Page}, it carries no totals, so no
+ * count query runs; {@code next} is the {@code after} token of the following page, or
+ * {@code null} on the last page.
+ */
+public class CursorPageDTO<T> {
+
+	private List<T> content;
+	private int size;
+	private boolean hasNext;
+	private String next;
+
+	public CursorPageDTO() {
+		super();
+	}
+
+	public CursorPageDTO(List<T> content, int size, boolean hasNext, String next) {
+		super();
+		this.content = content;
+		this.size = size;
+		this.hasNext = hasNext;
+		this.next = next;
+	}
+
+	/**
+	 * @return the same page with every element converted, e.g. to a response DTO
+	 */
+	public <R> CursorPageDTO<R> map(Function<? super T, ? extends R> converter) {
+		return new CursorPageDTO<>(content.stream().<R>map(converter).toList(), size, hasNext, next);
+	}
+
+	public List<T> getContent() {
+		return content;
+	}
+
+	public void setContent(List<T> content) {
+		this.content = content;
+	}
+
+	public int getSize() {
+		return size;
+	}
+
+	public void setSize(int size) {
+		this.size = size;
+	}
+
+	public boolean isHasNext() {
+		return hasNext;
+	}
+
+	public void setHasNext(boolean hasNext) {
+		this.hasNext = hasNext;
+	}
+
+	public String getNext() {
+		return next;
+	}
+
+	public void setNext(String next) {
+		this.next = next;
+	}
+}
@@ -0,0 +1,65 @@
+package com.exam.examserver.model.dto;
+
+import java.util.List;
+
+/**
+ * Response of starting a quiz: the session to submit to, its deadline and the delivered questions.
+ */
+public class ExamSessionDTO {
+
+	private String sessionId;
+	private Long quizId;
+	private long deadline;
+	private long durationSeconds;
+	private List<QuestionDeliveryDTO> questions;
+
+	public ExamSessionDTO(String sessionId, Long quizId, long deadline, long durationSeconds,
+			List<QuestionDeliveryDTO> questions) {
+		this.sessionId = sessionId;
+		this.quizId = quizId;
+		this.deadline = deadline;
+		this.durationSeconds = durationSeconds;
+		this.questions = questions;
+	}
+
+	public String getSessionId() {
+		return sessionId;
+	}
+
+	public void setSessionId(String sessionId) {
+		this.sessionId = sessionId;
+	}
+
+	public Long getQuizId() {
+		return quizId;
+	}
+
+	public void setQuizId(Long quizId) {
+		this.quizId = quizId;
+	}
+
+	public long getDeadline() {
+		return deadline;
+	}
+
+	public void setDeadline(long deadline) {
+		this.deadline = deadline;
+	}
+
+	public long getDurationSeconds() {
+		return durationSeconds;
+	}
+
+	public void setDurationSeconds(long durationSeconds) {
+		this.durationSeconds = durationSeconds;
+	}
+
+	public List<QuestionDeliveryDTO> getQuestions() {
+		return questions;
+	}
+
+	public void setQuestions(List<QuestionDeliveryDTO> questions) {
+		this.questions = questions;
+	}
+
+}
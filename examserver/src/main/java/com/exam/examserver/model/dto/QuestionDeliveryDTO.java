@@ -0,0 +1,116 @@
+package com.exam.examserver.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * A question of a quiz paper as sent to the client taking the quiz.
+ *
+ * <p>It keeps the field names of the {@code Question} entity, so the quiz page and the
+ * {@code /question/eval-quiz} submission work unchanged, but carries no answer and only a
+ * {@link QuizReferenceDTO} instead of the whole quiz and category. The answer is filled in,
+ * and serialized, only for admins previewing a quiz.</p>
+ */
+public class QuestionDeliveryDTO {
+
+	private Long quesId;
+	private String content;
+	private String image;
+	private String option1;
+	private String option2;
+	private String option3;
+	private String option4;
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private String answer;
+	private QuizReferenceDTO quiz;
+
+	public QuestionDeliveryDTO() {
+		super();
+	}
+
+	/**
+	 * Constructor used by the JPQL projection, which never selects the answer.
+	 */
+	public QuestionDeliveryDTO(Long quesId, String content, String image, String option1, String option2,
+			String option3, String option4) {
+		super();
+		this.quesId = quesId;
+		this.content = content;
+		this.image = image;
+		this.option1 = option1;
+		this.option2 = option2;
+		this.option3 = option3;
+		this.option4 = option4;
+	}
+
+	public Long getQuesId() {
+		return quesId;
+	}
+
+	public void setQuesId(Long quesId) {
+		this.quesId = quesId;
+	}
+
+	public String getContent() {
+		return content;
+	}
+
+	public void setContent(String content) {
+		this.content = content;
+	}
+
+	public String getImage() {
+		return image;
+	}
+
+	public void setImage(String image) {
+		this.image = image;
+	}
+
+	public String getOption1() {
+		return option1;
+	}
+
+	public void setOption1(String option1) {
+		this.option1 = option1;
+	}
+
+	public String getOption2() {
+		return option2;
+	}
+
+	public void setOption2(String option2) {
+		this.option2 = option2;
+	}
+
+	public String getOption3() {
+		return option3;
+	}
+
+	public void setOption3(String option3) {
+		this.option3 = option3;
+	}
+
+	public String getOption4() {
+		return option4;
+	}
+
+	public void setOption4(String option4) {
+		this.option4 = option4;
+	}
+
+	public String getAnswer() {
+		return answer;
+	}
+
+	public void setAnswer(String answer) {
+		this.answer = answer;
+	}
+
+	public QuizReferenceDTO getQuiz() {
+		return quiz;
+	}
+
+	public void setQuiz(QuizReferenceDTO quiz) {
+		this.quiz = quiz;
+	}
+}
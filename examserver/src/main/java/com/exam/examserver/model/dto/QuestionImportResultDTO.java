@@ -0,0 +1,126 @@
+package com.exam.examserver.model.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Summary of a streaming question import: totals plus the outcome of every committed chunk.
+ * Only the first {@link #MAX_ERRORS} rejected questions are described individually. Malformed
+ * JSON is not a rejected question: it stops the import and is reported as {@code parseError},
+ * at the index of the first question that could not be read.
+ */
+public class QuestionImportResultDTO {
+
+	public static final int MAX_ERRORS = 100;
+
+	private int read;
+	private int imported;
+	private int rejected;
+	private int failed;
+	private Integer parseErrorIndex;
+	private String parseError;
+	private final List<ChunkResult> chunks = new ArrayList<>();
+	private final List<String> errors = new ArrayList<>();
+
+	public static class ChunkResult {
+
+		private final int chunk;
+		private final int firstIndex;
+		private final int size;
+		private final boolean committed;
+		private final String error;
+
+		public ChunkResult(int chunk, int firstIndex, int size, boolean committed, String error) {
+			this.chunk = chunk;
+			this.firstIndex = firstIndex;
+			this.size = size;
+			this.committed = committed;
+			this.error = error;
+		}
+
+		public int getChunk() {
+			return chunk;
+		}
+
+		public int getFirstIndex() {
+			return firstIndex;
+		}
+
+		public int getSize() {
+			return size;
+		}
+
+		public boolean isCommitted() {
+			return committed;
+		}
+
+		public String getError() {
+			return error;
+		}
+	}
+
+	public void countRead() {
+		read++;
+	}
+
+	public void reject(int index, String reason) {
+		rejected++;
+		if (errors.size() < MAX_ERRORS) {
+			errors.add("Question " + index + ": " + reason);
+		}
+	}
+
+	public void stopAt(int index, String error) {
+		parseErrorIndex = index;
+		parseError = error;
+	}
+
+	public void addChunk(ChunkResult chunk) {
+		chunks.add(chunk);
+		if (chunk.isCommitted()) {
+			imported += chunk.getSize();
+		} else {
+			failed += chunk.getSize();
+		}
+	}
+
+	public int getRead() {
+		return read;
+	}
+
+	public int getImported() {
+		return imported;
+	}
+
+	public int getRejected() {
+		return rejected;
+	}
+
+	public int getFailed() {
+		return failed;
+	}
+
+	/**
+	 * @return whether the whole input was read, i.e. no malformed JSON stopped the import
+	 */
+	public boolean isComplete() {
+		return parseError == null;
+	}
+
+	public Integer getParseErrorIndex() {
+		return parseErrorIndex;
+	}
+
+	public String getParseError() {
+		return parseError;
+	}
+
+	public List<ChunkResult> getChunks() {
+		return chunks;
+	}
+
+	public List<String> getErrors() {
+		return errors;
+	}
+
+}
@@ -0,0 +1,47 @@
+package com.exam.examserver.model.dto;
+
+/**
+ * The quiz a delivered question belongs to: only what the quiz page shows and what a
+ * submission sends back to be graded.
+ */
+public class QuizReferenceDTO {
+
+	private Long qId;
+	private String title;
+	private Integer maxMarks;
+
+	public QuizReferenceDTO() {
+		super();
+	}
+
+	public QuizReferenceDTO(Long qId, String title, Integer maxMarks) {
+		super();
+		this.qId = qId;
+		this.title = title;
+		this.maxMarks = maxMarks;
+	}
+
+	public Long getqId() {
+		return qId;
+	}
+
+	public void setqId(Long qId) {
+		this.qId = qId;
+	}
+
+	public String getTitle() {
+		return title;
+	}
+
+	public void setTitle(String title) {
+		this.title = title;
+	}
+
+	public Integer getMaxMarks() {
+		return maxMarks;
+	}
+
+	public void setMaxMarks(Integer maxMarks) {
+		this.maxMarks = maxMarks;
+	}
+}
@@ -0,0 +1,108 @@
+package com.exam.examserver.model.dto;
+
+import com.exam.examserver.model.exam.category.Category;
+import com.exam.examserver.model.exam.quiz.Quiz;
+
+/**
+ * Quiz as rendered by the quiz listings: the quiz columns and its category, with the field
+ * names of the {@link Quiz} entity so clients read it the same way, but without questions
+ * or lazy-loading state. List queries build it directly from the selected columns.
+ */
+public class QuizSummaryDTO {
+
+	private Long qId;
+	private String title;
+	private String description;
+	private Integer maxMarks;
+	private Integer numberOfQuestions;
+	private boolean active;
+	private CategorySummaryDTO category;
+
+	public QuizSummaryDTO() {
+		super();
+	}
+
+	/**
+	 * Constructor used by the JPQL projections; the category columns are {@code null} for a
+	 * quiz without category.
+	 */
+	public QuizSummaryDTO(Long qId, String title, String description, Integer maxMarks, Integer numberOfQuestions,
+			boolean active, Long categoryId, String categoryTitle, String categoryDescription) {
+		super();
+		this.qId = qId;
+		this.title = title;
+		this.description = description;
+		this.maxMarks = maxMarks;
+		this.numberOfQuestions = numberOfQuestions;
+		this.active = active;
+		this.category = categoryId != null ? new CategorySummaryDTO(categoryId, categoryTitle, categoryDescription) : null;
+	}
+
+	/**
+	 * @param quiz a quiz whose category is loaded
+	 */
+	public static QuizSummaryDTO of(Quiz quiz) {
+		Category category = quiz.getCategory();
+		return new QuizSummaryDTO(quiz.getqId(), quiz.getTitle(), quiz.getDescription(), quiz.getMaxMarks(),
+				quiz.getNumberOfQuestions(), quiz.isActive(),
+				category != null ? category.getCid() : null,
+				category != null ? category.getTitle() : null,
+				category != null ? category.getDescription() : null);
+	}
+
+	public Long getqId() {
+		return qId;
+	}
+
+	public void setqId(Long qId) {
+		this.qId = qId;
+	}
+
+	public String getTitle() {
+		return title;
+	}
+
+	public void setTitle(String title) {
+		this.title = title;
+	}
+
+	public String getDescription() {
+		return description;
+	}
+
+	public void setDescription(String description) {
+		this.description = description;
+	}
+
+	public Integer getMaxMarks() {
+		return maxMarks;
+	}
+
+	public void setMaxMarks(Integer maxMarks) {
+		this.maxMarks = maxMarks;
+	}
+
+	public Integer getNumberOfQuestions() {
+		return numberOfQuestions;
+	}
+
+	public void setNumberOfQuestions(Integer numberOfQuestions) {
+		this.numberOfQuestions = numberOfQuestions;
+	}
+
+	public boolean isActive() {
+		return active;
+	}
+
+	public void setActive(boolean active) {
+		this.active = active;
+	}
+
+	public CategorySummaryDTO getCategory() {
+		return category;
+	}
+
+	public void setCategory(CategorySummaryDTO category) {
+		this.category = category;
+	}
+}
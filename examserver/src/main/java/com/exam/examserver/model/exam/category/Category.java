@@ -9,14 +9,17 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 
 import com.exam.examserver.model.exam.quiz.Quiz;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 @Entity
-@Table(name = "Category")
+@Table(name = "Category", indexes = @Index(name = "idx_category_title_id", columnList = "title, cid"))
+@JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
 public class Category {
 	@Id
 	@GeneratedValue(strategy = GenerationType.AUTO)
@@ -26,7 +29,8 @@ public class Category {
 	
 	private String description;
 	
-	@OneToMany(mappedBy = "category", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+	// Never rendered; quiz counts come from CategoryQuizCountCache
+	@OneToMany(mappedBy = "category", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
 	@JsonIgnore
 	private Set<Quiz> quizzes = new LinkedHashSet<>();
 
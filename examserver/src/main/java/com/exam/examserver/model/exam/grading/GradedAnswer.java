@@ -0,0 +1,32 @@
+package com.exam.examserver.model.exam.grading;
+
+import com.exam.examserver.model.exam.question.Question;
+
+/**
+ * Outcome of grading a single submitted answer against the answer key.
+ */
+public class GradedAnswer {
+
+	private final Question question;
+	private final String givenAnswer;
+	private final boolean correct;
+
+	public GradedAnswer(Question question, String givenAnswer, boolean correct) {
+		this.question = question;
+		this.givenAnswer = givenAnswer;
+		this.correct = correct;
+	}
+
+	public Question getQuestion() {
+		return question;
+	}
+
+	public String getGivenAnswer() {
+		return givenAnswer;
+	}
+
+	public boolean isCorrect() {
+		return correct;
+	}
+
+}
@@ -0,0 +1,48 @@
+package com.exam.examserver.model.exam.grading;
+
+import java.util.List;
+
+import com.exam.examserver.model.exam.quiz.Quiz;
+
+/**
+ * Result of grading a quiz submission: the score summary returned to the client
+ * plus the graded answers, which are reused to persist the attempt history.
+ */
+public class GradingResult {
+
+	private final Quiz quiz;
+	private final double marksGot;
+	private final double correctAnswers;
+	private final int attempted;
+	private final List<GradedAnswer> answers;
+
+	public GradingResult(Quiz quiz, double marksGot, double correctAnswers, int attempted,
+			List<GradedAnswer> answers) {
+		this.quiz = quiz;
+		this.marksGot = marksGot;
+		this.correctAnswers = correctAnswers;
+		this.attempted = attempted;
+		this.answers = answers;
+	}
+
+	public Quiz getQuiz() {
+		return quiz;
+	}
+
+	public double getMarksGot() {
+		return marksGot;
+	}
+
+	public double getCorrectAnswers() {
+		return correctAnswers;
+	}
+
+	public int getAttempted() {
+		return attempted;
+	}
+
+	public List<GradedAnswer> getAnswers() {
+		return answers;
+	}
+
+}
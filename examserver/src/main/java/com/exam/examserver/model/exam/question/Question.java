@@ -1,6 +1,8 @@
 package com.exam.examserver.model.exam.question;
 
+import com.exam.examserver.model.SequenceIds;
 import com.exam.examserver.model.exam.quiz.Quiz;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -9,13 +11,33 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Transient;
 
+/**
+ * A multiple-choice question of a quiz.
+ *
+ * <p>The quiz is loaded lazily. Use cases that render it (admin listing and edit, delivery)
+ * load it with the {@value #GRAPH_WITH_QUIZ} entity graph; grading reads the answer key
+ * through projections and needs neither.</p>
+ */
 @Entity
+@NamedEntityGraph(name = Question.GRAPH_WITH_QUIZ,
+		attributeNodes = @NamedAttributeNode(value = "quiz", subgraph = "quiz"),
+		subgraphs = @NamedSubgraph(name = "quiz", attributeNodes = @NamedAttributeNode("category")))
+@JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
 public class Question {
 
+	/** Fetch plan loading the quiz and its category with the question. */
+	public static final String GRAPH_WITH_QUIZ = "Question.withQuiz";
+
+
 	@Id
-	@GeneratedValue(strategy = GenerationType.AUTO)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "question_seq")
+	@SequenceGenerator(name = "question_seq", sequenceName = "question_seq", allocationSize = SequenceIds.ALLOCATION_SIZE)
 	private Long quesId;
 	@Column(length = 500)
 	private String content;
@@ -28,7 +50,7 @@ public class Question {
 	@Transient
 	private String givenAnswer;
 
-	@ManyToOne(fetch = FetchType.EAGER)
+	@ManyToOne(fetch = FetchType.LAZY)
 	private Quiz quiz;
 
 	public Question() {
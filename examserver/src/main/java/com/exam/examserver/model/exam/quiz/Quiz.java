@@ -9,16 +9,40 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
 
 import com.exam.examserver.model.exam.category.Category;
 import com.exam.examserver.model.exam.question.Question;
 import com.fasterxml.jackson.annotation.JsonIgnore;
-
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * A quiz of a category.
+ *
+ * <p>The category is loaded lazily. Listings, searches and the admin edit view, which all
+ * render it, load it with the {@value #GRAPH_WITH_CATEGORY} entity graph.</p>
+ */
 @Entity
+// Composite keys for the keyset listings, which seek and order by (title, id) within their filters
+@Table(indexes = {
+		@Index(name = "idx_quiz_title_id", columnList = "title, qId"),
+		@Index(name = "idx_quiz_active_title_id", columnList = "active, title, qId"),
+		@Index(name = "idx_quiz_category_active_title_id", columnList = "category_id, active, title, qId")
+})
+@NamedEntityGraph(name = Quiz.GRAPH_WITH_CATEGORY, attributeNodes = @NamedAttributeNode("category"))
+@JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
 public class Quiz {
+
+	/** Fetch plan loading the category with the quiz. */
+	public static final String GRAPH_WITH_CATEGORY = "Quiz.withCategory";
+
+
 	@Id
 	@GeneratedValue (strategy = GenerationType.AUTO)
 	private Long qId;
@@ -33,7 +57,7 @@ public class Quiz {
 	
 	private boolean active = false;
 	
-	@ManyToOne(fetch = FetchType.EAGER)
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "category_id")
 	private Category category;
 	
@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.exam.examserver.model.SequenceIds;
 import com.exam.examserver.model.exam.quiz.Quiz;
 import com.exam.examserver.model.questionattempt.QuestionAttempt;
 import com.exam.examserver.model.user.User;
@@ -18,13 +19,15 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 @Entity
 @Table(name = "quiz_attempts")
 public class QuizAttempt {
 	@Id
-	@GeneratedValue(strategy = GenerationType.AUTO)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "quiz_attempts_seq")
+	@SequenceGenerator(name = "quiz_attempts_seq", sequenceName = "quiz_attempts_seq", allocationSize = SequenceIds.ALLOCATION_SIZE)
 	private Long id;
 
 	@ManyToOne(fetch = FetchType.EAGER)
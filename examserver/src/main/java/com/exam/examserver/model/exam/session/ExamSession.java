@@ -0,0 +1,48 @@
+package com.exam.examserver.model.exam.session;
+
+import java.util.Arrays;
+
+/**
+ * Server-side paper of a quiz being taken: who takes it, which questions were delivered
+ * and in which order, and until when answers are accepted. Immutable and compact, so
+ * many of them fit in memory.
+ */
+public class ExamSession {
+
+	private final String sessionId;
+	private final Long userId;
+	private final Long quizId;
+	private final long[] questionIds;
+	private final long deadline;
+
+	public ExamSession(String sessionId, Long userId, Long quizId, long[] questionIds, long deadline) {
+		this.sessionId = sessionId;
+		this.userId = userId;
+		this.quizId = quizId;
+		this.questionIds = Arrays.copyOf(questionIds, questionIds.length);
+		this.deadline = deadline;
+	}
+
+	public String getSessionId() {
+		return sessionId;
+	}
+
+	public Long getUserId() {
+		return userId;
+	}
+
+	public Long getQuizId() {
+		return quizId;
+	}
+
+	/**
+	 * @return a copy of the delivered question ids, in delivery order
+	 */
+	public long[] getQuestionIds() {
+		return Arrays.copyOf(questionIds, questionIds.length);
+	}
+
+	public long getDeadline() {
+		return deadline;
+	}
+}
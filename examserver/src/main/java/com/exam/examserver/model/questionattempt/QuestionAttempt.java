@@ -1,5 +1,6 @@
 package com.exam.examserver.model.questionattempt;
 
+import com.exam.examserver.model.SequenceIds;
 import com.exam.examserver.model.exam.question.Question;
 import com.exam.examserver.model.exam.quizattempt.QuizAttempt;
 import com.fasterxml.jackson.annotation.JsonBackReference;
@@ -11,6 +12,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 @Entity
@@ -18,7 +20,8 @@ import jakarta.persistence.Table;
 public class QuestionAttempt {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "question_attempts_seq")
+    @SequenceGenerator(name = "question_attempts_seq", sequenceName = "question_attempts_seq", allocationSize = SequenceIds.ALLOCATION_SIZE)
     private Long id;
     
     @JoinColumn(name = "quiz_id")
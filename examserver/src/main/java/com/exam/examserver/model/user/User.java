@@ -5,6 +5,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
@@ -37,6 +38,10 @@ public class User implements UserDetails {
 	private String phone;
 	private boolean enabled = true;
 	private String profile;
+	// Bumped by SecurityEpochRegistry when the user's issued tokens must stop working
+	@JsonIgnore
+	@Column(name = "security_epoch", nullable = false, columnDefinition = "bigint not null default 0")
+	private long securityEpoch;
 
 	// user -> Many roles
 
@@ -125,6 +130,14 @@ public class User implements UserDetails {
 		this.profile = profile;
 	}
 
+	public long getSecurityEpoch() {
+		return securityEpoch;
+	}
+
+	public void setSecurityEpoch(long securityEpoch) {
+		this.securityEpoch = securityEpoch;
+	}
+
 	public Set<UserRole> getUserRoles() {
 		return userRoles;
 	}
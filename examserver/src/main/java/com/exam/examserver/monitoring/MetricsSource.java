@@ -0,0 +1,19 @@
+package com.exam.examserver.monitoring;
+
+import java.util.Map;
+
+/**
+ * Component exposing in-process counters through the monitoring endpoint.
+ */
+public interface MetricsSource {
+
+	/**
+	 * @return the name under which the metrics are published
+	 */
+	String getMetricsName();
+
+	/**
+	 * @return a point-in-time snapshot of the metrics
+	 */
+	Map<String, Object> getMetrics();
+}
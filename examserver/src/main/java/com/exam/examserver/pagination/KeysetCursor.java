@@ -0,0 +1,90 @@
+package com.exam.examserver.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Slice;
+
+import com.exam.examserver.model.dto.CursorPageDTO;
+
+/**
+ * Position in a keyset-paginated listing: the sort key of the last row of a page.
+ *
+ * <p>Clients receive it as an opaque URL-safe token and send it back as {@code after} to get
+ * the next page, which the database finds by seeking past the key in an index instead of
+ * skipping {@code page * size} rows. The token holds a kind, so a quiz cursor is not accepted
+ * by the category listing, the last id and, for title-ordered listings, the last title.
+ * It is not signed: a forged token only moves the start of the page.</p>
+ */
+public final class KeysetCursor {
+
+	private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+	private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+	private final String kind;
+	private final String title;
+	private final long id;
+
+	private KeysetCursor(String kind, String title, long id) {
+		this.kind = kind;
+		this.title = title;
+		this.id = id;
+	}
+
+	public static KeysetCursor of(String kind, String title, Long id) {
+		return new KeysetCursor(kind, title, id);
+	}
+
+	/**
+	 * Decodes a token created by {@link #encode()}.
+	 *
+	 * @param kind  the kind the token must have been created for
+	 * @param token the token; {@code null} or blank for the first page
+	 * @return the cursor, or {@code null} for the first page
+	 * @throws IllegalArgumentException if the token is malformed or of another kind
+	 */
+	public static KeysetCursor decode(String kind, String token) {
+		if (token == null || token.isBlank()) {
+			return null;
+		}
+		try {
+			// kind \n id \n ("-" for no title | "+" title)
+			String[] parts = new String(DECODER.decode(token.trim()), StandardCharsets.UTF_8).split("\n", 3);
+			if (parts.length != 3 || !parts[0].equals(kind) || parts[2].isEmpty()) {
+				throw new IllegalArgumentException("Invalid page cursor");
+			}
+			String title = parts[2].charAt(0) == '+' ? parts[2].substring(1) : null;
+			return new KeysetCursor(kind, title, Long.parseLong(parts[1]));
+		} catch (IllegalArgumentException e) {
+			// Also covers bad Base64 and NumberFormatException
+			throw new IllegalArgumentException("Invalid page cursor", e);
+		}
+	}
+
+	public String encode() {
+		String raw = kind + "\n" + id + "\n" + (title == null ? "-" : "+" + title);
+		return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Builds the response page of a keyset query, with the cursor of its last row as {@code next}.
+	 *
+	 * @param slice the rows read after the previous cursor, limited to the page size
+	 * @param keyOf the cursor of a row
+	 */
+	public static <T> CursorPageDTO<T> page(Slice<T> slice, Function<T, KeysetCursor> keyOf) {
+		List<T> content = slice.getContent();
+		String next = slice.hasNext() && !content.isEmpty() ? keyOf.apply(content.get(content.size() - 1)).encode() : null;
+		return new CursorPageDTO<>(content, slice.getSize(), slice.hasNext(), next);
+	}
+
+	public String getTitle() {
+		return title;
+	}
+
+	public long getId() {
+		return id;
+	}
+}
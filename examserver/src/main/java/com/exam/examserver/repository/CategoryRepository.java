@@ -1,8 +1,13 @@
 package com.exam.examserver.repository;
 
+import java.util.List;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.exam.examserver.model.exam.category.Category;
 
@@ -10,4 +15,52 @@ public interface CategoryRepository extends JpaRepository<Category, Long>{
 
 	Page<Category> findByTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCase(
 	        String titleTerm, String descriptionTerm, Pageable pageable);
+
+	/**
+	 * Keyset page of categories, optionally filtered by a term in the title or description:
+	 * the categories after the (title, id) key of the previous page, in title, id order.
+	 * A null key starts at the first category; categories without a title sort first.
+	 */
+	@Query("""
+			    SELECT c FROM Category c
+			    WHERE (:term IS NULL
+			        OR LOWER(c.title) LIKE LOWER(CONCAT('%', :term, '%'))
+			        OR LOWER(c.description) LIKE LOWER(CONCAT('%', :term, '%')))
+			    AND (:afterId IS NULL
+			        OR (:afterTitle IS NULL AND (c.title IS NOT NULL OR c.cid > :afterId))
+			        OR (c.title, c.cid) > (:afterTitle, :afterId))
+			    ORDER BY c.title ASC, c.cid ASC
+			""")
+	Slice<Category> searchAfter(@Param("term") String term, @Param("afterTitle") String afterTitle,
+			@Param("afterId") Long afterId, Pageable limit);
+
+	/**
+	 * Counts the quizzes of every category in one grouped query, without loading any quiz.
+	 * Each row is {@code [cid, title, totalQuizzes, activeQuizzes]}, ordered by title.
+	 */
+	@Query("""
+			    SELECT c.cid, c.title, COUNT(q.qId), SUM(CASE WHEN q.active = true THEN 1 ELSE 0 END)
+			    FROM Category c LEFT JOIN c.quizzes q
+			    GROUP BY c.cid, c.title
+			    ORDER BY c.title ASC
+			""")
+	List<Object[]> countQuizzesByCategory();
+
+	/*
+	 * Full-text category search (exam.search.mode=fulltext): ids of one page, best match first,
+	 * filtered through the ft_category_text index in boolean mode.
+	 */
+	@Query(value = """
+			    SELECT c.cid FROM category c
+			    WHERE MATCH(c.title, c.description) AGAINST (:query IN BOOLEAN MODE)
+			    ORDER BY MATCH(c.title, c.description) AGAINST (:words IN NATURAL LANGUAGE MODE) DESC, c.cid
+			""", countQuery = """
+			    SELECT COUNT(*) FROM category c
+			    WHERE MATCH(c.title, c.description) AGAINST (:query IN BOOLEAN MODE)
+			""", nativeQuery = true)
+	Page<Long> fullTextSearchIds(@Param("query") String query, @Param("words") String words, Pageable pageable);
+
+	// Search index rows: cid, title, description
+	@Query("SELECT c.cid, c.title, c.description FROM Category c")
+	List<Object[]> findIndexRows();
 }
@@ -1,25 +1,81 @@
 package com.exam.examserver.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import com.exam.examserver.model.dto.QuestionDeliveryDTO;
 import com.exam.examserver.model.exam.question.Question;
 import com.exam.examserver.model.exam.quiz.Quiz;
 
+import jakarta.persistence.QueryHint;
+
+/**
+ * Question finders that feed JSON views load the quiz and its category with the
+ * {@link Question#GRAPH_WITH_QUIZ} fetch plan; grading and export use projections instead.
+ */
 public interface QuestionRepository extends JpaRepository<Question, Long> {
 
+	@Override
+	@EntityGraph(Question.GRAPH_WITH_QUIZ)
+	Optional<Question> findById(Long id);
+
+	@EntityGraph(Question.GRAPH_WITH_QUIZ)
 	Set<Question> findByQuiz(Quiz quiz);
 
+	@EntityGraph(Question.GRAPH_WITH_QUIZ)
 	Page<Question> findByQuiz_qId(Long getqId, Pageable pageable);
 
+	// Same page without the count query: reads one row past the page to know if there is a next one
+	@EntityGraph(Question.GRAPH_WITH_QUIZ)
+	Slice<Question> findSliceByQuiz_qId(Long getqId, Pageable pageable);
+
+	@EntityGraph(Question.GRAPH_WITH_QUIZ)
 	List<Question> findByQuiz_qId(Long getqId);
 
+	@Query("SELECT q FROM Question q JOIN FETCH q.quiz qz LEFT JOIN FETCH qz.category WHERE q.quesId IN :ids")
+	List<Question> findAllWithQuizByQuesIdIn(@Param("ids") Collection<Long> ids);
+
+	// Delivered paper: the student-facing columns only, never the answer or the quiz
+	@Query("SELECT new com.exam.examserver.model.dto.QuestionDeliveryDTO(q.quesId, q.content, q.image, "
+			+ "q.option1, q.option2, q.option3, q.option4) FROM Question q WHERE q.quesId IN :ids")
+	List<QuestionDeliveryDTO> findDeliveryByQuesIdIn(@Param("ids") Collection<Long> ids);
+
+	// Quizzes currently holding the given questions, to evict their answer keys before a bulk save moves them
+	@Query("SELECT DISTINCT q.quiz.qId FROM Question q WHERE q.quesId IN :ids")
+	List<Long> findQuizIdsByQuesIdIn(@Param("ids") Collection<Long> ids);
+
+	// Answer key rows: quesId, answer, quiz title, quiz maxMarks, quiz numberOfQuestions, option1..option4
+	@Query("SELECT q.quesId, q.answer, qz.title, qz.maxMarks, qz.numberOfQuestions, "
+			+ "q.option1, q.option2, q.option3, q.option4 FROM Question q JOIN q.quiz qz WHERE qz.qId = :qid")
+	List<Object[]> findAnswerKeyRowsByQuizId(@Param("qid") Long qid);
+
+	/*
+	 * Export rows: quesId, content, image, option1..option4, answer, in id order.
+	 * Integer.MIN_VALUE makes MySQL Connector/J stream rows instead of buffering the result set.
+	 * Scalar columns are read so no lazy loads hit the connection while it streams.
+	 */
+	@QueryHints({
+		@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+		@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+	})
+	@Query("SELECT q.quesId, q.content, q.image, q.option1, q.option2, q.option3, q.option4, q.answer "
+			+ "FROM Question q WHERE q.quiz.qId = :qid ORDER BY q.quesId")
+	Stream<Object[]> streamExportRowsByQuizId(@Param("qid") Long qid);
+
+	@EntityGraph(Question.GRAPH_WITH_QUIZ)
 	@Query("SELECT q FROM Question q WHERE q.quiz.qId = :qid AND "
 			+ "(LOWER(q.content) LIKE LOWER(CONCAT('%', :term, '%')) "
 			+ "OR LOWER(q.option1) LIKE LOWER(CONCAT('%', :term, '%')) "
@@ -29,4 +85,44 @@ public interface QuestionRepository extends JpaRepository<Question, Long> {
 			+ "OR LOWER(q.answer) LIKE LOWER(CONCAT('%', :term, '%')))")
 	Page<Question> searchQuestionsByQuiz(@Param("qid") Long qid, @Param("term") String term, Pageable pageable);
 
+	/*
+	 * Keyset page of the questions of a quiz, optionally filtered like searchQuestionsByQuiz:
+	 * the questions after the id of the previous page, in id order, read from the quiz's
+	 * foreign-key index, which InnoDB keys by (quiz id, question id).
+	 */
+	@EntityGraph(Question.GRAPH_WITH_QUIZ)
+	@Query("""
+			    SELECT q FROM Question q WHERE q.quiz.qId = :qid
+			    AND (:afterId IS NULL OR q.quesId > :afterId)
+			    AND (:term IS NULL
+			        OR LOWER(q.content) LIKE LOWER(CONCAT('%', :term, '%'))
+			        OR LOWER(q.option1) LIKE LOWER(CONCAT('%', :term, '%'))
+			        OR LOWER(q.option2) LIKE LOWER(CONCAT('%', :term, '%'))
+			        OR LOWER(q.option3) LIKE LOWER(CONCAT('%', :term, '%'))
+			        OR LOWER(q.option4) LIKE LOWER(CONCAT('%', :term, '%'))
+			        OR LOWER(q.answer) LIKE LOWER(CONCAT('%', :term, '%')))
+			    ORDER BY q.quesId ASC
+			""")
+	Slice<Question> searchAfter(@Param("qid") Long qid, @Param("term") String term, @Param("afterId") Long afterId,
+			Pageable limit);
+
+	/*
+	 * Full-text question search (exam.search.mode=fulltext): ids of one page, best match first.
+	 * Rows are filtered through the ft_question_text index in boolean mode and ranked by their
+	 * natural-language relevance to the plain words.
+	 */
+	String FULLTEXT_COLUMNS = "MATCH(q.content, q.option1, q.option2, q.option3, q.option4, q.answer)";
+	String FULLTEXT_FILTER = " FROM question q WHERE q.quiz_q_id = :qid AND "
+			+ FULLTEXT_COLUMNS + " AGAINST (:query IN BOOLEAN MODE)";
+
+	@Query(value = "SELECT q.ques_id" + FULLTEXT_FILTER
+			+ " ORDER BY " + FULLTEXT_COLUMNS + " AGAINST (:words IN NATURAL LANGUAGE MODE) DESC, q.ques_id",
+			countQuery = "SELECT COUNT(*)" + FULLTEXT_FILTER, nativeQuery = true)
+	Page<Long> fullTextSearchIds(@Param("qid") Long qid, @Param("query") String query,
+			@Param("words") String words, Pageable pageable);
+
+	// Search index rows: quesId, quiz id, content, option1..option4, answer, in id order
+	@Query("SELECT q.quesId, qz.qId, q.content, q.option1, q.option2, q.option3, q.option4, q.answer "
+			+ "FROM Question q LEFT JOIN q.quiz qz WHERE q.quesId > :after ORDER BY q.quesId")
+	List<Object[]> findIndexRowsAfter(@Param("after") Long after, Pageable limit);
 }
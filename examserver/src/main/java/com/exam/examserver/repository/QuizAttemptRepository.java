@@ -4,7 +4,9 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.exam.examserver.model.dto.PopularQuizStatsDTO;
 import com.exam.examserver.model.exam.quiz.Quiz;
@@ -14,9 +16,50 @@ import com.exam.examserver.model.user.User;
 public interface QuizAttemptRepository extends JpaRepository<QuizAttempt, Long> {
 	List<QuizAttempt> findTop10ByUserOrderByAttemptDateDesc(User user);
 
+	@Query("SELECT MAX(a.id) FROM QuizAttempt a WHERE a.user.id = :userId AND a.quiz.qId = :quizId")
+	Long findLatestAttemptId(@Param("userId") Long userId, @Param("quizId") Long quizId);
+
 	List<QuizAttempt> findByUserAndQuizOrderByAttemptDateAsc(User user, Quiz quiz);
 
 	Optional<QuizAttempt> findTopByUserOrderByAttemptDateDesc(User user);
+
+	// Retention: bulk deletes of everything but the newest :keep attempts of a user in a quiz.
+	// The LIMIT subquery is wrapped in a derived table so MySQL materializes it first.
+	@Modifying
+	@Query(value = """
+			    DELETE qa FROM question_attempts qa
+			    JOIN quiz_attempts a ON qa.attempt_id = a.id
+			    WHERE a.user_id = :userId AND a.quiz_id = :quizId
+			    AND a.id NOT IN (
+			        SELECT id FROM (
+			            SELECT id FROM quiz_attempts
+			            WHERE user_id = :userId AND quiz_id = :quizId
+			            ORDER BY attempt_date DESC, id DESC
+			            LIMIT :keep
+			        ) newest
+			    )
+			""", nativeQuery = true)
+	int deleteQuestionAttemptsBeyond(@Param("userId") Long userId, @Param("quizId") Long quizId, @Param("keep") int keep);
+
+	@Modifying
+	@Query(value = """
+			    DELETE FROM quiz_attempts
+			    WHERE user_id = :userId AND quiz_id = :quizId
+			    AND id NOT IN (
+			        SELECT id FROM (
+			            SELECT id FROM quiz_attempts
+			            WHERE user_id = :userId AND quiz_id = :quizId
+			            ORDER BY attempt_date DESC, id DESC
+			            LIMIT :keep
+			        ) newest
+			    )
+			""", nativeQuery = true)
+	int deleteAttemptsBeyond(@Param("userId") Long userId, @Param("quizId") Long quizId, @Param("keep") int keep);
+
+	// (user_id, quiz_id) pairs holding more than :keep attempts
+	@Query(value = "SELECT user_id, quiz_id FROM quiz_attempts GROUP BY user_id, quiz_id HAVING COUNT(*) > :keep",
+			nativeQuery = true)
+	List<Object[]> findUserQuizPairsExceeding(@Param("keep") int keep);
 	
 	// Top tries
 	@Query("SELECT new com.exam.examserver.model.dto.PopularQuizStatsDTO(q.id, q.title, COUNT(a), AVG(a.marksGot)) " +
@@ -1,52 +1,135 @@
 package com.exam.examserver.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import com.exam.examserver.model.dto.QuizSummaryDTO;
 import com.exam.examserver.model.exam.quiz.Quiz;
 
+/**
+ * Quiz finders used by listings and the admin views load the category with the
+ * {@link Quiz#GRAPH_WITH_CATEGORY} fetch plan, in the same select as the quizzes.
+ */
 public interface QuizRepository extends JpaRepository<Quiz, Long> {
 
-	@Query("SELECT q FROM Quiz q WHERE " + "LOWER(q.title) LIKE LOWER(CONCAT('%', :term, '%')) OR "
-			+ "LOWER(q.description) LIKE LOWER(CONCAT('%', :term, '%')) OR "
-			+ "CAST(q.maxMarks AS string) LIKE CONCAT('%', :term, '%') OR "
-			+ "CAST(q.numberOfQuestions AS string) LIKE CONCAT('%', :term, '%')")
-	List<Quiz> searchQuizzes(@Param("term") String term);
+	@Override
+	@EntityGraph(Quiz.GRAPH_WITH_CATEGORY)
+	Optional<Quiz> findById(Long id);
 
-	@Query("""
-			    SELECT q FROM Quiz q
-			    WHERE q.category.cid = :categoryId
+	@Override
+	@EntityGraph(Quiz.GRAPH_WITH_CATEGORY)
+	List<Quiz> findAll();
+
+	@Override
+	@EntityGraph(Quiz.GRAPH_WITH_CATEGORY)
+	Page<Quiz> findAll(Pageable pageable);
+
+	/*
+	 * Quiz listings rendered as QuizSummaryDTO: only the quiz and category columns, in one
+	 * select, without managed entities or their questions.
+	 */
+	String SUMMARY_SELECT = "SELECT new com.exam.examserver.model.dto.QuizSummaryDTO(q.qId, q.title, q.description, "
+			+ "q.maxMarks, q.numberOfQuestions, q.active, c.cid, c.title, c.description) "
+			+ "FROM Quiz q LEFT JOIN q.category c";
+
+	@Query(SUMMARY_SELECT + " ORDER BY q.title ASC, q.qId ASC")
+	List<QuizSummaryDTO> findAllSummaries();
+
+	@Query(SUMMARY_SELECT + " WHERE c.cid = :categoryId AND q.active = true ORDER BY q.title ASC, q.qId ASC")
+	List<QuizSummaryDTO> findActiveSummariesByCategoryId(@Param("categoryId") Long categoryId);
+
+	/*
+	 * Filtered quiz search, paged and sorted in the database. Every filter is optional:
+	 * a null term, category or active flag matches all quizzes.
+	 */
+	String SEARCH_FILTER = """
+			    FROM Quiz q
+			    WHERE (:categoryId IS NULL OR q.category.cid = :categoryId)
+			    AND (:active IS NULL OR q.active = :active)
 			    AND (
+			        :term IS NULL OR
 			        LOWER(q.title) LIKE LOWER(CONCAT('%', :term, '%')) OR
 			        LOWER(q.description) LIKE LOWER(CONCAT('%', :term, '%')) OR
 			        CAST(q.maxMarks AS string) LIKE CONCAT('%', :term, '%') OR
 			        CAST(q.numberOfQuestions AS string) LIKE CONCAT('%', :term, '%')
 			    )
+			""";
+
+	@EntityGraph(Quiz.GRAPH_WITH_CATEGORY)
+	@Query(value = "SELECT q " + SEARCH_FILTER, countQuery = "SELECT COUNT(q) " + SEARCH_FILTER)
+	Page<Quiz> search(@Param("term") String term, @Param("categoryId") Long categoryId,
+			@Param("active") Boolean active, Pageable pageable);
+
+	// Same search without the count query: reads one row past the page to know if there is a next one
+	@EntityGraph(Quiz.GRAPH_WITH_CATEGORY)
+	@Query("SELECT q " + SEARCH_FILTER)
+	Slice<Quiz> searchSlice(@Param("term") String term, @Param("categoryId") Long categoryId,
+			@Param("active") Boolean active, Pageable pageable);
+
+	/*
+	 * Keyset page of the same search: the quizzes after the (title, id) key of the previous page,
+	 * in title, id order, found by seeking in idx_quiz_title_id instead of skipping rows.
+	 * A null key starts at the first quiz; quizzes without a title sort first, as in MySQL.
+	 */
+	@EntityGraph(Quiz.GRAPH_WITH_CATEGORY)
+	@Query("SELECT q " + SEARCH_FILTER + """
+			    AND (:afterId IS NULL
+			        OR (:afterTitle IS NULL AND (q.title IS NOT NULL OR q.qId > :afterId))
+			        OR (q.title, q.qId) > (:afterTitle, :afterId))
+			    ORDER BY q.title ASC, q.qId ASC
 			""")
-	List<Quiz> searchQuizByCategory(@Param("categoryId") Long categoryId, @Param("term") String term);
+	Slice<Quiz> searchAfter(@Param("term") String term, @Param("categoryId") Long categoryId,
+			@Param("active") Boolean active, @Param("afterTitle") String afterTitle, @Param("afterId") Long afterId,
+			Pageable limit);
 
 	// Without active filter
+	@EntityGraph(Quiz.GRAPH_WITH_CATEGORY)
 	Page<Quiz> findAllByCategory_Cid(Long categoryId, Pageable pageable);
 
 	// With optional active filter
+	@EntityGraph(Quiz.GRAPH_WITH_CATEGORY)
 	Page<Quiz> findAllByCategory_CidAndActive(Long categoryId, Boolean active, Pageable pageable);
 
+	@EntityGraph(Quiz.GRAPH_WITH_CATEGORY)
 	Page<Quiz> findAllByActive(Boolean active, Pageable pageable);
 
-	@Query("""
-			    SELECT q FROM Quiz q
-			    WHERE q.active = :active AND (
-			          LOWER(q.title) LIKE LOWER(CONCAT('%', :term, '%'))
-			          OR LOWER(q.description) LIKE LOWER(CONCAT('%', :term, '%'))
-			          OR CAST(q.maxMarks AS string) LIKE CONCAT('%', :term, '%')
-			          OR CAST(q.numberOfQuestions AS string) LIKE CONCAT('%', :term, '%')
-			    )
-			""")
-	List<Quiz> searchQuizzesByActive(@Param("term") String term, @Param("active") Boolean active);
+	@EntityGraph(Quiz.GRAPH_WITH_CATEGORY)
+	@Query("SELECT q FROM Quiz q WHERE q.qId IN :ids")
+	List<Quiz> findAllWithCategoryByIdIn(@Param("ids") Collection<Long> ids);
+
+	/*
+	 * Full-text quiz search (exam.search.mode=fulltext): ids of one page, best match first,
+	 * with the same optional filters as SEARCH_FILTER. Rows are filtered through the
+	 * ft_quiz_text index in boolean mode and ranked by natural-language relevance.
+	 */
+	String FULLTEXT_FILTER = """
+			    FROM quiz q
+			    WHERE (:categoryId IS NULL OR q.category_id = :categoryId)
+			    AND (:active IS NULL OR q.active = :active)
+			    AND MATCH(q.title, q.description) AGAINST (:query IN BOOLEAN MODE)
+			""";
+	String FULLTEXT_ORDER = " ORDER BY MATCH(q.title, q.description) AGAINST (:words IN NATURAL LANGUAGE MODE) DESC, q.q_id";
+
+	@Query(value = "SELECT q.q_id " + FULLTEXT_FILTER + FULLTEXT_ORDER,
+			countQuery = "SELECT COUNT(*) " + FULLTEXT_FILTER, nativeQuery = true)
+	Page<Long> fullTextSearchIds(@Param("query") String query, @Param("words") String words,
+			@Param("categoryId") Long categoryId, @Param("active") Boolean active, Pageable pageable);
+
+	@Query(value = "SELECT q.q_id " + FULLTEXT_FILTER + FULLTEXT_ORDER, nativeQuery = true)
+	Slice<Long> fullTextSearchIdsSlice(@Param("query") String query, @Param("words") String words,
+			@Param("categoryId") Long categoryId, @Param("active") Boolean active, Pageable pageable);
 
+	// Search index rows: qId, category id, active, title, description, maxMarks, numberOfQuestions, in id order
+	@Query("SELECT q.qId, c.cid, q.active, q.title, q.description, q.maxMarks, q.numberOfQuestions "
+			+ "FROM Quiz q LEFT JOIN q.category c WHERE q.qId > :after ORDER BY q.qId")
+	List<Object[]> findIndexRowsAfter(@Param("after") Long after, Pageable limit);
 }
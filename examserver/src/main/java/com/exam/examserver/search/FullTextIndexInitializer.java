@@ -0,0 +1,76 @@
+package com.exam.examserver.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the MySQL {@code FULLTEXT} indexes used by {@link FullTextSearchStrategy}, when
+ * {@code exam.search.mode=fulltext}.
+ *
+ * <p>Hibernate's schema update does not manage full-text indexes, so at startup each missing
+ * index is added with {@code ALTER TABLE}. The first full-text index of a table rebuilds it,
+ * which can take a while on a large question bank; searches keep using {@code LIKE} until
+ * every index exists. If an index cannot be created, full-text search stays unavailable.</p>
+ */
+@Component
+public class FullTextIndexInitializer {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(FullTextIndexInitializer.class);
+
+	// table, index name, indexed columns; the columns must match the MATCH clauses of the repositories
+	private static final String[][] INDEXES = {
+			{ "question", "ft_question_text", "content, option1, option2, option3, option4, answer" },
+			{ "quiz", "ft_quiz_text", "title, description" },
+			{ "category", "ft_category_text", "title, description" }
+	};
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private final boolean enabled;
+	private volatile boolean ready;
+
+	public FullTextIndexInitializer(@Value("${exam.search.mode:like}") String mode) {
+		this.enabled = FullTextSearchStrategy.NAME.equalsIgnoreCase(mode);
+	}
+
+	/**
+	 * @return whether full-text search is enabled and all its indexes exist
+	 */
+	public boolean isReady() {
+		return ready;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void createIndexes() {
+		if (!enabled) {
+			return;
+		}
+		for (String[] index : INDEXES) {
+			try {
+				Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.statistics "
+						+ "WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?",
+						Integer.class, index[0], index[1]);
+				if (existing != null && existing > 0) {
+					continue;
+				}
+				long start = System.currentTimeMillis();
+				jdbcTemplate.execute("ALTER TABLE " + index[0] + " ADD FULLTEXT INDEX " + index[1] + " (" + index[2] + ")");
+				LOGGER.info("Created full-text index '{}' on '{}' in {} ms", index[1], index[0],
+						System.currentTimeMillis() - start);
+			} catch (DataAccessException e) {
+				LOGGER.error("Could not create full-text index '{}' on '{}', searches keep using LIKE: {}",
+						index[1], index[0], e.getMessage());
+				return;
+			}
+		}
+		ready = true;
+	}
+}
@@ -0,0 +1,169 @@
+package com.exam.examserver.search;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import com.exam.examserver.model.exam.category.Category;
+import com.exam.examserver.model.exam.question.Question;
+import com.exam.examserver.model.exam.quiz.Quiz;
+import com.exam.examserver.repository.CategoryRepository;
+import com.exam.examserver.repository.QuestionRepository;
+import com.exam.examserver.repository.QuizRepository;
+
+/**
+ * Searches with MySQL {@code FULLTEXT} indexes, for nodes that cannot hold the in-process
+ * index. Selected with {@code exam.search.mode=fulltext}; the indexes are created at startup
+ * by {@link FullTextIndexInitializer}.
+ *
+ * <p>The term is split into words, which filter rows with {@code MATCH ... AGAINST} in boolean
+ * mode: by default every word is required ({@code +word}) and matches as a word prefix
+ * ({@code word*}). Matches are ranked by their natural-language relevance to the words, so
+ * the sort of the {@link Pageable} is ignored, and only the ids of the requested page are
+ * read before the entities are loaded.</p>
+ *
+ * <p>Words shorter than InnoDB's minimum token size are never indexed. A term left without
+ * any indexable word, and a quiz search for a number (matched against the marks and question
+ * count with {@code LIKE}), run on {@link LikeSearchStrategy} instead.</p>
+ */
+@Component
+public class FullTextSearchStrategy implements SearchStrategy {
+
+	public static final String NAME = "fulltext";
+
+	@Autowired
+	private FullTextIndexInitializer indexInitializer;
+	@Autowired
+	private LikeSearchStrategy likeSearch;
+	@Autowired
+	private QuizRepository quizRepository;
+	@Autowired
+	private CategoryRepository categoryRepository;
+	@Autowired
+	private QuestionRepository questionRepository;
+
+	private final int minTokenLength;
+	private final boolean requireAllWords;
+	private final boolean prefixMatch;
+
+	public FullTextSearchStrategy(
+			@Value("${exam.search.fulltext.min-token-length:3}") int minTokenLength,
+			@Value("${exam.search.fulltext.require-all-words:true}") boolean requireAllWords,
+			@Value("${exam.search.fulltext.prefix-match:true}") boolean prefixMatch) {
+		this.minTokenLength = minTokenLength;
+		this.requireAllWords = requireAllWords;
+		this.prefixMatch = prefixMatch;
+	}
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+
+	@Override
+	public boolean isAvailable() {
+		return indexInitializer.isReady();
+	}
+
+	@Override
+	public Page<Quiz> searchQuizzes(String term, Long categoryId, Boolean active, Pageable pageable) {
+		List<String> words = words(term);
+		if (words.isEmpty() || hasNumber(term)) {
+			return likeSearch.searchQuizzes(term, categoryId, active, pageable);
+		}
+		Page<Long> ids = quizRepository.fullTextSearchIds(booleanQuery(words), String.join(" ", words),
+				categoryId, active, unsorted(pageable));
+		return RankedResults.page(ids, quizRepository::findAllWithCategoryByIdIn, Quiz::getqId);
+	}
+
+	@Override
+	public Slice<Quiz> searchQuizzesSlice(String term, Long categoryId, Boolean active, Pageable pageable) {
+		List<String> words = words(term);
+		if (words.isEmpty() || hasNumber(term)) {
+			return likeSearch.searchQuizzesSlice(term, categoryId, active, pageable);
+		}
+		Slice<Long> ids = quizRepository.fullTextSearchIdsSlice(booleanQuery(words), String.join(" ", words),
+				categoryId, active, unsorted(pageable));
+		return RankedResults.slice(ids, quizRepository::findAllWithCategoryByIdIn, Quiz::getqId);
+	}
+
+	@Override
+	public Page<Category> searchCategories(String term, Pageable pageable) {
+		List<String> words = words(term);
+		if (words.isEmpty()) {
+			return likeSearch.searchCategories(term, pageable);
+		}
+		Page<Long> ids = categoryRepository.fullTextSearchIds(booleanQuery(words), String.join(" ", words),
+				unsorted(pageable));
+		return RankedResults.page(ids, categoryRepository::findAllById, Category::getCid);
+	}
+
+	@Override
+	public Page<Question> searchQuestions(Long quizId, String term, Pageable pageable) {
+		List<String> words = words(term);
+		if (words.isEmpty()) {
+			return likeSearch.searchQuestions(quizId, term, pageable);
+		}
+		Page<Long> ids = questionRepository.fullTextSearchIds(quizId, booleanQuery(words), String.join(" ", words),
+				unsorted(pageable));
+		return RankedResults.page(ids, questionRepository::findAllWithQuizByQuesIdIn, Question::getQuesId);
+	}
+
+	/**
+	 * @return the distinct indexable words of the term, without any boolean-mode operator
+	 */
+	List<String> words(String term) {
+		List<String> words = new ArrayList<>();
+		for (String word : new LinkedHashSet<>(TextAnalyzer.tokenize(term))) {
+			if (word.length() >= minTokenLength) {
+				words.add(word);
+			}
+		}
+		return words;
+	}
+
+	/**
+	 * @return the {@code AGAINST} argument in boolean mode, with the configured operators on each word
+	 */
+	String booleanQuery(List<String> words) {
+		StringBuilder query = new StringBuilder();
+		for (String word : words) {
+			if (query.length() > 0) {
+				query.append(' ');
+			}
+			if (requireAllWords) {
+				query.append('+');
+			}
+			query.append(word);
+			if (prefixMatch) {
+				query.append('*');
+			}
+		}
+		return query.toString();
+	}
+
+	/**
+	 * @return whether the term holds a word made only of digits
+	 */
+	static boolean hasNumber(String term) {
+		for (String word : TextAnalyzer.tokenize(term)) {
+			if (word.chars().allMatch(Character::isDigit)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	// The relevance order is part of the native query; a sort property would be appended after it
+	private static Pageable unsorted(Pageable pageable) {
+		return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+	}
+}
@@ -0,0 +1,71 @@
+package com.exam.examserver.search;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import com.exam.examserver.model.exam.category.Category;
+import com.exam.examserver.model.exam.question.Question;
+import com.exam.examserver.model.exam.quiz.Quiz;
+import com.exam.examserver.repository.CategoryRepository;
+import com.exam.examserver.repository.QuestionRepository;
+import com.exam.examserver.repository.QuizRepository;
+
+/**
+ * Searches the in-process {@link SearchIndex}: the matching ids are ranked in memory and only
+ * the entities of the requested page are loaded, by id. Results are ordered by relevance, so
+ * the sort of the {@link Pageable} is ignored. Terms match whole words or word prefixes, not
+ * arbitrary substrings.
+ *
+ * <p>A prefix matching more indexed terms than {@code exam.search.index.max-prefix-expansions},
+ * such as a two-letter prefix over a large bank, is searched with {@link LikeSearchStrategy}
+ * instead, so its results are complete but unranked.</p>
+ */
+@Component
+public class IndexSearchStrategy implements SearchStrategy {
+
+	public static final String NAME = "index";
+
+	@Autowired
+	private SearchIndex searchIndex;
+	@Autowired
+	private LikeSearchStrategy likeSearch;
+	@Autowired
+	private QuizRepository quizRepository;
+	@Autowired
+	private CategoryRepository categoryRepository;
+	@Autowired
+	private QuestionRepository questionRepository;
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+
+	@Override
+	public boolean isAvailable() {
+		return searchIndex.isReady();
+	}
+
+	@Override
+	public Page<Quiz> searchQuizzes(String term, Long categoryId, Boolean active, Pageable pageable) {
+		return searchIndex.searchQuizzes(term, categoryId, active)
+				.map(ids -> RankedResults.page(ids, pageable, quizRepository::findAllWithCategoryByIdIn, Quiz::getqId))
+				.orElseGet(() -> likeSearch.searchQuizzes(term, categoryId, active, pageable));
+	}
+
+	@Override
+	public Page<Category> searchCategories(String term, Pageable pageable) {
+		return searchIndex.searchCategories(term)
+				.map(ids -> RankedResults.page(ids, pageable, categoryRepository::findAllById, Category::getCid))
+				.orElseGet(() -> likeSearch.searchCategories(term, pageable));
+	}
+
+	@Override
+	public Page<Question> searchQuestions(Long quizId, String term, Pageable pageable) {
+		return searchIndex.searchQuestions(quizId, term)
+				.map(ids -> RankedResults.page(ids, pageable, questionRepository::findAllWithQuizByQuesIdIn, Question::getQuesId))
+				.orElseGet(() -> likeSearch.searchQuestions(quizId, term, pageable));
+	}
+}
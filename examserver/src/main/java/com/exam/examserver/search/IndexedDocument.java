@@ -0,0 +1,53 @@
+package com.exam.examserver.search;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A document prepared for an {@link InvertedIndex}: its weighted terms and the attributes
+ * searches can filter on (such as the category or quiz it belongs to).
+ */
+public class IndexedDocument {
+
+	private final long id;
+	private final Map<String, Float> terms = new HashMap<>();
+	private final Map<String, Object> attributes = new HashMap<>();
+	private float length;
+
+	public IndexedDocument(long id) {
+		this.id = id;
+	}
+
+	/**
+	 * Adds the terms of a text field; each occurrence counts {@code weight} towards the term frequency.
+	 */
+	public IndexedDocument text(String text, float weight) {
+		for (String term : TextAnalyzer.tokenize(text)) {
+			terms.merge(term, weight, Float::sum);
+			length += weight;
+		}
+		return this;
+	}
+
+	public IndexedDocument attribute(String name, Object value) {
+		attributes.put(name, value);
+		return this;
+	}
+
+	public long getId() {
+		return id;
+	}
+
+	public Map<String, Float> getTerms() {
+		return Collections.unmodifiableMap(terms);
+	}
+
+	public float getLength() {
+		return length;
+	}
+
+	public Object getAttribute(String name) {
+		return attributes.get(name);
+	}
+}
@@ -0,0 +1,244 @@
+package com.exam.examserver.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * In-memory inverted index over one kind of document, with BM25 ranking.
+ *
+ * <p>Terms are kept sorted, each with its postings list of document id and weighted term
+ * frequency, so a query term can match whole terms or, from two characters on, every term
+ * starting with it. A prefix is only expanded up to {@code maxPrefixExpansions} terms: a
+ * broader one, such as a short prefix in a large index, gives no result instead of an
+ * arbitrary part of its matches, and callers are expected to search another way. A query matches the documents containing all of its terms; exact term
+ * matches score higher than prefix matches. A forward map of each document's terms lets a
+ * document be replaced or removed without scanning the postings.</p>
+ *
+ * <p>Reads share a read lock and updates take the write lock.</p>
+ */
+public class InvertedIndex {
+
+	private static final double K1 = 1.2;
+	private static final double B = 0.75;
+	private static final double PREFIX_WEIGHT = 0.5;
+
+	private final int maxPrefixExpansions;
+	private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+	private final Map<Long, IndexedDocument> documents = new HashMap<>();
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private double totalLength;
+
+	public InvertedIndex(int maxPrefixExpansions) {
+		this.maxPrefixExpansions = maxPrefixExpansions;
+	}
+
+	/**
+	 * Adds a document, replacing any previous version with the same id.
+	 */
+	public void put(IndexedDocument document) {
+		lock.writeLock().lock();
+		try {
+			removeLocked(document.getId());
+			documents.put(document.getId(), document);
+			totalLength += document.getLength();
+			for (Map.Entry<String, Float> term : document.getTerms().entrySet()) {
+				postings.computeIfAbsent(term.getKey(), k -> new HashMap<>()).put(document.getId(), term.getValue());
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * @return whether a document with the id was indexed
+	 */
+	public boolean remove(long id) {
+		lock.writeLock().lock();
+		try {
+			return removeLocked(id);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Removes every document matching the predicate.
+	 *
+	 * @return the ids of the removed documents
+	 */
+	public List<Long> removeIf(Predicate<IndexedDocument> predicate) {
+		lock.writeLock().lock();
+		try {
+			List<Long> removed = new ArrayList<>();
+			for (IndexedDocument document : documents.values()) {
+				if (predicate.test(document)) {
+					removed.add(document.getId());
+				}
+			}
+			for (Long id : removed) {
+				removeLocked(id);
+			}
+			return removed;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private boolean removeLocked(long id) {
+		IndexedDocument previous = documents.remove(id);
+		if (previous == null) {
+			return false;
+		}
+		totalLength -= previous.getLength();
+		for (String term : previous.getTerms().keySet()) {
+			Map<Long, Float> list = postings.get(term);
+			if (list != null) {
+				list.remove(id);
+				if (list.isEmpty()) {
+					postings.remove(term);
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Finds the documents matching every term of the query, best first.
+	 *
+	 * @param query  free text; each term may also match as a prefix
+	 * @param filter restricts the matches, or {@code null} for none
+	 * @return the ids of the matching documents by descending score, then ascending id, or
+	 *         empty if a term is a prefix of more than {@code maxPrefixExpansions} terms
+	 */
+	public Optional<List<Long>> search(String query, Predicate<IndexedDocument> filter) {
+		List<String> terms = new ArrayList<>(new LinkedHashSet<>(TextAnalyzer.tokenize(query)));
+		if (terms.isEmpty()) {
+			return Optional.of(Collections.emptyList());
+		}
+
+		lock.readLock().lock();
+		try {
+			if (documents.isEmpty()) {
+				return Optional.of(Collections.emptyList());
+			}
+			double averageLength = totalLength / documents.size();
+			List<Map<Long, Double>> perTerm = new ArrayList<>(terms.size());
+			for (String term : terms) {
+				Map<Long, Double> scores = scoreTerm(term, averageLength);
+				if (scores == null) {
+					return Optional.empty();
+				}
+				if (scores.isEmpty()) {
+					return Optional.of(Collections.emptyList());
+				}
+				perTerm.add(scores);
+			}
+			// Intersect starting from the most selective term
+			perTerm.sort(Comparator.comparingInt(Map::size));
+			Map<Long, Double> result = new HashMap<>(perTerm.get(0));
+			for (int i = 1; i < perTerm.size() && !result.isEmpty(); i++) {
+				Map<Long, Double> next = perTerm.get(i);
+				result.entrySet().removeIf(entry -> {
+					Double score = next.get(entry.getKey());
+					if (score == null) {
+						return true;
+					}
+					entry.setValue(entry.getValue() + score);
+					return false;
+				});
+			}
+			if (filter != null) {
+				result.keySet().removeIf(id -> !filter.test(documents.get(id)));
+			}
+
+			List<Map.Entry<Long, Double>> ranked = new ArrayList<>(result.entrySet());
+			ranked.sort(Map.Entry.<Long, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+			List<Long> ids = new ArrayList<>(ranked.size());
+			for (Map.Entry<Long, Double> entry : ranked) {
+				ids.add(entry.getKey());
+			}
+			return Optional.of(ids);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Scores the documents containing the term or, for terms of two characters or more,
+	 * a term starting with it. A document keeps its best score among the matched terms.
+	 *
+	 * @return the scores by document id, or {@code null} if the term expands to too many terms
+	 */
+	private Map<Long, Double> scoreTerm(String term, double averageLength) {
+		Map<Long, Double> scores = new HashMap<>();
+		addScores(scores, term, postings.get(term), 1.0, averageLength);
+		if (term.length() >= 2) {
+			Map<String, Map<Long, Float>> expansions = postings.subMap(term, false, term + Character.MAX_VALUE, false);
+			// Checked before scoring: a truncated expansion would silently drop documents
+			if (expansions.size() > maxPrefixExpansions) {
+				return null;
+			}
+			for (Map.Entry<String, Map<Long, Float>> entry : expansions.entrySet()) {
+				addScores(scores, entry.getKey(), entry.getValue(), PREFIX_WEIGHT, averageLength);
+			}
+		}
+		return scores;
+	}
+
+	private void addScores(Map<Long, Double> scores, String term, Map<Long, Float> list, double weight, double averageLength) {
+		if (list == null || list.isEmpty()) {
+			return;
+		}
+		int count = documents.size();
+		double idf = Math.log(1 + (count - list.size() + 0.5) / (list.size() + 0.5));
+		for (Map.Entry<Long, Float> posting : list.entrySet()) {
+			double tf = posting.getValue();
+			double length = documents.get(posting.getKey()).getLength();
+			double score = weight * idf * tf * (K1 + 1) / (tf + K1 * (1 - B + B * length / averageLength));
+			scores.merge(posting.getKey(), score, Math::max);
+		}
+	}
+
+	public int documentCount() {
+		lock.readLock().lock();
+		try {
+			return documents.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public int termCount() {
+		lock.readLock().lock();
+		try {
+			return postings.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Drops every document.
+	 */
+	public void clear() {
+		lock.writeLock().lock();
+		try {
+			postings.clear();
+			documents.clear();
+			totalLength = 0;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+}
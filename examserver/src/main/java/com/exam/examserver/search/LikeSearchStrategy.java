@@ -0,0 +1,57 @@
+package com.exam.examserver.search;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import com.exam.examserver.model.exam.category.Category;
+import com.exam.examserver.model.exam.question.Question;
+import com.exam.examserver.model.exam.quiz.Quiz;
+import com.exam.examserver.repository.CategoryRepository;
+import com.exam.examserver.repository.QuestionRepository;
+import com.exam.examserver.repository.QuizRepository;
+
+/**
+ * Searches with case-insensitive {@code LIKE '%term%'} queries. Needs no index and matches
+ * any substring, but every search scans the searched columns. This is the default mode and
+ * the fallback of the other strategies while they are unavailable.
+ */
+@Component
+public class LikeSearchStrategy implements SearchStrategy {
+
+	public static final String NAME = "like";
+
+	@Autowired
+	private QuizRepository quizRepository;
+	@Autowired
+	private CategoryRepository categoryRepository;
+	@Autowired
+	private QuestionRepository questionRepository;
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+
+	@Override
+	public Page<Quiz> searchQuizzes(String term, Long categoryId, Boolean active, Pageable pageable) {
+		return quizRepository.search(term, categoryId, active, pageable);
+	}
+
+	@Override
+	public Slice<Quiz> searchQuizzesSlice(String term, Long categoryId, Boolean active, Pageable pageable) {
+		return quizRepository.searchSlice(term, categoryId, active, pageable);
+	}
+
+	@Override
+	public Page<Category> searchCategories(String term, Pageable pageable) {
+		return categoryRepository.findByTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCase(term, term, pageable);
+	}
+
+	@Override
+	public Page<Question> searchQuestions(Long quizId, String term, Pageable pageable) {
+		return questionRepository.searchQuestionsByQuiz(quizId, term, pageable);
+	}
+}
@@ -0,0 +1,71 @@
+package com.exam.examserver.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+/**
+ * Turns ranked ids into pages of entities for the strategies that rank outside JPA: only
+ * the ids of the requested page are loaded, in one query, and the ranking order is kept.
+ * Ids whose row was deleted after the lookup are skipped.
+ */
+final class RankedResults {
+
+	private RankedResults() {
+	}
+
+	/**
+	 * @return the requested page of a complete, ranked list of ids
+	 */
+	static <T> Page<T> page(List<Long> rankedIds, Pageable pageable,
+			Function<Collection<Long>, ? extends Iterable<T>> loader, Function<T, Long> idOf) {
+		int from = (int) Math.min(pageable.getOffset(), rankedIds.size());
+		int to = Math.min(from + pageable.getPageSize(), rankedIds.size());
+		return new PageImpl<>(load(rankedIds.subList(from, to), loader, idOf), pageable, rankedIds.size());
+	}
+
+	/**
+	 * @return the entities of a page of ranked ids, with the paging of the ids
+	 */
+	static <T> Page<T> page(Page<Long> ids, Function<Collection<Long>, ? extends Iterable<T>> loader,
+			Function<T, Long> idOf) {
+		return new PageImpl<>(load(ids.getContent(), loader, idOf), ids.getPageable(), ids.getTotalElements());
+	}
+
+	/**
+	 * @return the entities of a slice of ranked ids, with the paging of the ids
+	 */
+	static <T> Slice<T> slice(Slice<Long> ids, Function<Collection<Long>, ? extends Iterable<T>> loader,
+			Function<T, Long> idOf) {
+		return new SliceImpl<>(load(ids.getContent(), loader, idOf), ids.getPageable(), ids.hasNext());
+	}
+
+	private static <T> List<T> load(List<Long> ids, Function<Collection<Long>, ? extends Iterable<T>> loader,
+			Function<T, Long> idOf) {
+		if (ids.isEmpty()) {
+			return Collections.emptyList();
+		}
+		Map<Long, T> loaded = new HashMap<>();
+		for (T entity : loader.apply(ids)) {
+			loaded.put(idOf.apply(entity), entity);
+		}
+		List<T> content = new ArrayList<>(ids.size());
+		for (Long id : ids) {
+			T entity = loaded.get(id);
+			if (entity != null) {
+				content.add(entity);
+			}
+		}
+		return content;
+	}
+}
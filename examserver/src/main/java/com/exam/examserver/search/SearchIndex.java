@@ -0,0 +1,336 @@
+package com.exam.examserver.search;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.exam.examserver.model.exam.category.Category;
+import com.exam.examserver.model.exam.question.Question;
+import com.exam.examserver.model.exam.quiz.Quiz;
+import com.exam.examserver.monitoring.MetricsSource;
+import com.exam.examserver.repository.CategoryRepository;
+import com.exam.examserver.repository.QuestionRepository;
+import com.exam.examserver.repository.QuizRepository;
+
+/**
+ * In-process full-text index of quizzes, categories and questions, used when
+ * {@code exam.search.mode=index}.
+ *
+ * <p>The index is built from a scan of the three tables once the application is ready, and
+ * kept current by the services, which report every write through the {@code index*} and
+ * {@code remove*} methods. Updates made inside a transaction are applied after commit, so a
+ * rolled-back write never shows up in search. Writes that happen while the initial scan runs
+ * take precedence over the rows the scan read. In any other mode every method is a no-op.</p>
+ *
+ * <p>Each instance holds its own index and only sees the writes made through it. With several
+ * instances behind a load balancer, a write made on one appears on the others only after
+ * their next restart, so this mode suits single-instance deployments; the {@code like} and
+ * {@code fulltext} modes read the shared database.</p>
+ */
+@Component
+public class SearchIndex implements MetricsSource {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(SearchIndex.class);
+
+	private static final String CATEGORY_ID = "categoryId";
+	private static final String QUIZ_ID = "quizId";
+	private static final String ACTIVE = "active";
+
+	@Autowired
+	private QuizRepository quizRepository;
+	@Autowired
+	private CategoryRepository categoryRepository;
+	@Autowired
+	private QuestionRepository questionRepository;
+
+	private final boolean enabled;
+	private final int loadBatchSize;
+	private final InvertedIndex quizzes;
+	private final InvertedIndex categories;
+	private final InvertedIndex questions;
+
+	private volatile boolean ready;
+	private boolean loading;
+	private final Set<Long> touchedQuizzes = new HashSet<>();
+	private final Set<Long> touchedCategories = new HashSet<>();
+	private final Set<Long> touchedQuestions = new HashSet<>();
+	private long loadMillis;
+
+	public SearchIndex(
+			@Value("${exam.search.mode:like}") String mode,
+			@Value("${exam.search.index.load-batch-size:1000}") int loadBatchSize,
+			@Value("${exam.search.index.max-prefix-expansions:64}") int maxPrefixExpansions) {
+		this.enabled = "index".equalsIgnoreCase(mode);
+		this.loadBatchSize = loadBatchSize;
+		this.quizzes = new InvertedIndex(maxPrefixExpansions);
+		this.categories = new InvertedIndex(maxPrefixExpansions);
+		this.questions = new InvertedIndex(maxPrefixExpansions);
+	}
+
+	/**
+	 * @return whether the index is enabled and its initial build has finished
+	 */
+	public boolean isReady() {
+		return ready;
+	}
+
+	/**
+	 * Builds the index from the database. Runs once, after startup.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuild() {
+		if (!enabled) {
+			return;
+		}
+		long start = System.currentTimeMillis();
+		synchronized (this) {
+			loading = true;
+			ready = false;
+			quizzes.clear();
+			categories.clear();
+			questions.clear();
+		}
+		try {
+			for (Object[] row : categoryRepository.findIndexRows()) {
+				load(categories, touchedCategories, categoryDocument((Long) row[0], (String) row[1], (String) row[2]));
+			}
+
+			long after = 0;
+			List<Object[]> rows;
+			do {
+				rows = quizRepository.findIndexRowsAfter(after, PageRequest.of(0, loadBatchSize));
+				for (Object[] row : rows) {
+					load(quizzes, touchedQuizzes, quizDocument((Long) row[0], (Long) row[1], (Boolean) row[2],
+							(String) row[3], (String) row[4], (Integer) row[5], (Integer) row[6]));
+					after = (Long) row[0];
+				}
+			} while (rows.size() == loadBatchSize);
+
+			after = 0;
+			do {
+				rows = questionRepository.findIndexRowsAfter(after, PageRequest.of(0, loadBatchSize));
+				for (Object[] row : rows) {
+					load(questions, touchedQuestions, questionDocument((Long) row[0], (Long) row[1], (String) row[2],
+							(String) row[3], (String) row[4], (String) row[5], (String) row[6], (String) row[7]));
+					after = (Long) row[0];
+				}
+			} while (rows.size() == loadBatchSize);
+		} catch (RuntimeException e) {
+			LOGGER.error("Search index build failed, searches keep using the database: {}", e.getMessage(), e);
+			synchronized (this) {
+				loading = false;
+			}
+			return;
+		}
+
+		synchronized (this) {
+			loading = false;
+			touchedQuizzes.clear();
+			touchedCategories.clear();
+			touchedQuestions.clear();
+			ready = true;
+		}
+		loadMillis = System.currentTimeMillis() - start;
+		LOGGER.info("Search index built in {} ms: {} categories, {} quizzes, {} questions", loadMillis,
+				categories.documentCount(), quizzes.documentCount(), questions.documentCount());
+	}
+
+	private synchronized void load(InvertedIndex index, Set<Long> touched, IndexedDocument document) {
+		// A write seen during the scan is newer than the row the scan read
+		if (!touched.contains(document.getId())) {
+			index.put(document);
+		}
+	}
+
+	/**
+	 * @return ids of the quizzes matching every term, best first, or empty if a term is too
+	 *         broad a prefix, see {@link InvertedIndex#search(String, java.util.function.Predicate)}
+	 */
+	public Optional<List<Long>> searchQuizzes(String term, Long categoryId, Boolean active) {
+		return quizzes.search(term, document ->
+				(categoryId == null || categoryId.equals(document.getAttribute(CATEGORY_ID)))
+						&& (active == null || active.equals(document.getAttribute(ACTIVE))));
+	}
+
+	/**
+	 * @return ids of the categories matching every term, best first, or empty if a term is too broad a prefix
+	 */
+	public Optional<List<Long>> searchCategories(String term) {
+		return categories.search(term, null);
+	}
+
+	/**
+	 * @return ids of the questions of the quiz matching every term, best first, or empty if a
+	 *         term is too broad a prefix
+	 */
+	public Optional<List<Long>> searchQuestions(Long quizId, String term) {
+		return questions.search(term, document -> Objects.equals(quizId, document.getAttribute(QUIZ_ID)));
+	}
+
+	public void indexQuiz(Quiz quiz) {
+		if (!enabled || quiz == null || quiz.getqId() == null) {
+			return;
+		}
+		IndexedDocument document = quizDocument(quiz.getqId(),
+				quiz.getCategory() != null ? quiz.getCategory().getCid() : null, quiz.isActive(),
+				quiz.getTitle(), quiz.getDescription(), quiz.getMaxMarks(), quiz.getNumberOfQuestions());
+		afterCommit(() -> update(quizzes, touchedQuizzes, document));
+	}
+
+	public void indexCategory(Category category) {
+		if (!enabled || category == null || category.getCid() == null) {
+			return;
+		}
+		IndexedDocument document = categoryDocument(category.getCid(), category.getTitle(), category.getDescription());
+		afterCommit(() -> update(categories, touchedCategories, document));
+	}
+
+	public void indexQuestion(Question question) {
+		if (!enabled || question == null || question.getQuesId() == null) {
+			return;
+		}
+		IndexedDocument document = questionDocument(question.getQuesId(),
+				question.getQuiz() != null ? question.getQuiz().getqId() : null, question.getContent(),
+				question.getOption1(), question.getOption2(), question.getOption3(), question.getOption4(),
+				question.getAnswer());
+		afterCommit(() -> update(questions, touchedQuestions, document));
+	}
+
+	public void removeQuestion(Long questionId) {
+		if (!enabled || questionId == null) {
+			return;
+		}
+		afterCommit(() -> remove(questions, touchedQuestions, questionId));
+	}
+
+	/**
+	 * Removes a quiz together with its questions, which are deleted with it.
+	 */
+	public void removeQuiz(Long quizId) {
+		if (!enabled || quizId == null) {
+			return;
+		}
+		afterCommit(() -> {
+			remove(quizzes, touchedQuizzes, quizId);
+			removeQuestionsOf(Set.of(quizId));
+		});
+	}
+
+	/**
+	 * Removes a category together with its quizzes and their questions, which are deleted with it.
+	 */
+	public void removeCategory(Long categoryId) {
+		if (!enabled || categoryId == null) {
+			return;
+		}
+		afterCommit(() -> {
+			remove(categories, touchedCategories, categoryId);
+			List<Long> removedQuizzes = quizzes.removeIf(document -> categoryId.equals(document.getAttribute(CATEGORY_ID)));
+			synchronized (this) {
+				if (loading) {
+					touchedQuizzes.addAll(removedQuizzes);
+				}
+			}
+			removeQuestionsOf(new HashSet<>(removedQuizzes));
+		});
+	}
+
+	private void removeQuestionsOf(Set<Long> quizIds) {
+		if (quizIds.isEmpty()) {
+			return;
+		}
+		List<Long> removed = questions.removeIf(document -> quizIds.contains(document.getAttribute(QUIZ_ID)));
+		synchronized (this) {
+			if (loading) {
+				touchedQuestions.addAll(removed);
+			}
+		}
+	}
+
+	private synchronized void update(InvertedIndex index, Set<Long> touched, IndexedDocument document) {
+		index.put(document);
+		if (loading) {
+			touched.add(document.getId());
+		}
+	}
+
+	private synchronized void remove(InvertedIndex index, Set<Long> touched, Long id) {
+		index.remove(id);
+		if (loading) {
+			touched.add(id);
+		}
+	}
+
+	private static void afterCommit(Runnable update) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					update.run();
+				}
+			});
+		} else {
+			update.run();
+		}
+	}
+
+	private static IndexedDocument quizDocument(Long id, Long categoryId, Boolean active, String title,
+			String description, Integer maxMarks, Integer numberOfQuestions) {
+		return new IndexedDocument(id)
+				.text(title, 3f)
+				.text(description, 1f)
+				// Numbers stay searchable as they were with the LIKE queries
+				.text(maxMarks != null ? maxMarks.toString() : null, 1f)
+				.text(numberOfQuestions != null ? numberOfQuestions.toString() : null, 1f)
+				.attribute(CATEGORY_ID, categoryId)
+				.attribute(ACTIVE, Boolean.TRUE.equals(active));
+	}
+
+	private static IndexedDocument categoryDocument(Long id, String title, String description) {
+		return new IndexedDocument(id).text(title, 3f).text(description, 1f);
+	}
+
+	private static IndexedDocument questionDocument(Long id, Long quizId, String content, String option1,
+			String option2, String option3, String option4, String answer) {
+		return new IndexedDocument(id)
+				.text(content, 2f)
+				.text(option1, 1f).text(option2, 1f).text(option3, 1f).text(option4, 1f)
+				.text(answer, 1f)
+				.attribute(QUIZ_ID, quizId);
+	}
+
+	@Override
+	public String getMetricsName() {
+		return "searchIndex";
+	}
+
+	@Override
+	public Map<String, Object> getMetrics() {
+		Map<String, Object> metrics = new LinkedHashMap<>();
+		metrics.put("enabled", enabled);
+		metrics.put("ready", ready);
+		metrics.put("buildMillis", loadMillis);
+		metrics.put("quizzes", quizzes.documentCount());
+		metrics.put("categories", categories.documentCount());
+		metrics.put("questions", questions.documentCount());
+		metrics.put("quizTerms", quizzes.termCount());
+		metrics.put("categoryTerms", categories.termCount());
+		metrics.put("questionTerms", questions.termCount());
+		return metrics;
+	}
+}
@@ -0,0 +1,42 @@
+package com.exam.examserver.search;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import com.exam.examserver.model.exam.category.Category;
+import com.exam.examserver.model.exam.question.Question;
+import com.exam.examserver.model.exam.quiz.Quiz;
+
+/**
+ * A way of running the admin text searches over quizzes, categories and questions.
+ * The strategy in use is chosen with {@code exam.search.mode}.
+ */
+public interface SearchStrategy {
+
+	/**
+	 * @return the {@code exam.search.mode} value selecting this strategy
+	 */
+	String getName();
+
+	/**
+	 * @return whether the strategy can serve searches right now, e.g. once its index is built
+	 */
+	default boolean isAvailable() {
+		return true;
+	}
+
+	Page<Quiz> searchQuizzes(String term, Long categoryId, Boolean active, Pageable pageable);
+
+	/**
+	 * Like {@link #searchQuizzes(String, Long, Boolean, Pageable)}, for strategies that can
+	 * skip counting the matches.
+	 */
+	default Slice<Quiz> searchQuizzesSlice(String term, Long categoryId, Boolean active, Pageable pageable) {
+		return searchQuizzes(term, categoryId, active, pageable);
+	}
+
+	Page<Category> searchCategories(String term, Pageable pageable);
+
+	Page<Question> searchQuestions(Long quizId, String term, Pageable pageable);
+}
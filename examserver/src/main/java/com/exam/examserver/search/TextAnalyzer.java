@@ -0,0 +1,53 @@
+package com.exam.examserver.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Turns free text into index terms: accents are stripped, case is folded and the text is
+ * split on anything that is not a letter or digit, so "Programación" and "PROGRAMACION"
+ * produce the same term.
+ */
+public final class TextAnalyzer {
+
+	private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+	/** Terms longer than this are cut, so a pasted blob cannot create huge keys. */
+	static final int MAX_TERM_LENGTH = 40;
+
+	private TextAnalyzer() {
+	}
+
+	/**
+	 * @return the normalized terms of the text, in order and with repetitions; empty for {@code null}
+	 */
+	public static List<String> tokenize(String text) {
+		List<String> terms = new ArrayList<>();
+		if (text == null || text.isEmpty()) {
+			return terms;
+		}
+		String folded = fold(text);
+		int start = -1;
+		for (int i = 0; i <= folded.length(); i++) {
+			boolean wordChar = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+			if (wordChar && start < 0) {
+				start = i;
+			} else if (!wordChar && start >= 0) {
+				terms.add(folded.substring(start, Math.min(i, start + MAX_TERM_LENGTH)));
+				start = -1;
+			}
+		}
+		return terms;
+	}
+
+	/**
+	 * @return the text without accents, in lower case
+	 */
+	public static String fold(String text) {
+		String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+		return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+	}
+}
@@ -0,0 +1,10 @@
+package com.exam.examserver.service;
+
+import com.exam.examserver.model.exam.grading.GradingResult;
+import com.exam.examserver.model.user.User;
+
+public interface IAttemptHistoryService {
+	void record(User user, GradingResult result);
+
+	long attemptRound(Long userId, Long quizId);
+}
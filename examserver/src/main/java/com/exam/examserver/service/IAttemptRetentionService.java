@@ -0,0 +1,8 @@
+package com.exam.examserver.service;
+
+public interface IAttemptRetentionService {
+	int getDepth();
+	boolean isInline();
+	int prune(Long userId, Long quizId, int keep);
+	int sweep();
+}
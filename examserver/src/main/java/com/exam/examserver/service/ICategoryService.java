@@ -1,9 +1,12 @@
 package com.exam.examserver.service;
 
+import java.util.List;
 import java.util.Set;
 
 import org.springframework.data.domain.Page;
 
+import com.exam.examserver.model.dto.CategoryQuizCountResponseDTO;
+import com.exam.examserver.model.dto.CursorPageDTO;
 import com.exam.examserver.model.exam.category.Category;
 
 public interface ICategoryService {
@@ -16,4 +19,6 @@ public interface ICategoryService {
 	Page<Category> getCategoriesPaged(int page, int size);
 	public Set<Category> addCategories(Set<Category> categories);
 	Page<Category> searchCategories(String term, int page, int size);
+	CursorPageDTO<Category> getCategoriesAfter(String term, String after, int size);
+	List<CategoryQuizCountResponseDTO> getQuizCounts(boolean activeOnly);
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.exam.examserver.service;
+
+import java.util.Map;
+
+import com.exam.examserver.model.dto.ExamSessionDTO;
+import com.exam.examserver.model.exam.grading.GradingResult;
+import com.exam.examserver.model.user.User;
+
+public interface IExamSessionService {
+	ExamSessionDTO start(User user, Long quizId);
+	GradingResult submit(User user, String sessionId, Map<Long, String> answers);
+	int close(Long userId, Long quizId);
+}
@@ -0,0 +1,13 @@
+package com.exam.examserver.service;
+
+import java.util.List;
+import java.util.Map;
+
+import com.exam.examserver.model.exam.grading.GradingResult;
+import com.exam.examserver.model.exam.question.Question;
+
+public interface IGradingService {
+	GradingResult grade(List<Question> submittedQuestions);
+	GradingResult grade(Long quizId, long[] questionIds, Map<Long, String> givenAnswers);
+	Map<Long, String> resolveAnswers(Long quizId, long[][] answers);
+}
@@ -0,0 +1,7 @@
+package com.exam.examserver.service;
+
+import com.exam.examserver.model.user.User;
+
+public interface ILoginService {
+	User authenticate(String username, String password);
+}
@@ -0,0 +1,8 @@
+package com.exam.examserver.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface IQuestionExportService {
+	long exportQuestions(Long quizId, boolean jsonLines, OutputStream out) throws IOException;
+}
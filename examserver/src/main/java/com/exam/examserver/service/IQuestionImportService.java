@@ -0,0 +1,13 @@
+package com.exam.examserver.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import com.exam.examserver.model.dto.QuestionImportResultDTO;
+import com.exam.examserver.model.exam.question.Question;
+
+public interface IQuestionImportService {
+	List<Question> readQuestions(InputStream json) throws IOException;
+	QuestionImportResultDTO importQuestions(InputStream json, Long quizId) throws IOException;
+}
@@ -0,0 +1,11 @@
+package com.exam.examserver.service;
+
+import java.util.List;
+
+import com.exam.examserver.model.dto.QuestionDeliveryDTO;
+
+public interface IQuestionSamplingService {
+	List<QuestionDeliveryDTO> samplePaper(Long quizId, Long userId, boolean withAnswers);
+	List<QuestionDeliveryDTO> sample(Long quizId, Long seed, boolean withAnswers);
+	List<QuestionDeliveryDTO> loadPaper(Long quizId, long[] questionIds);
+}
@@ -11,6 +11,7 @@ import com.exam.examserver.model.user.User;
 
 public interface IQuizAttemptService {
 	QuizAttempt saveAttempt(QuizAttempt attempt);
+	List<QuizAttempt> saveAttempts(List<QuizAttempt> attempts);
     List<QuizAttemptDTO> getLastAttempts(User user);
 	List<QuizAttempt> findByUserAndQuizOrderByAttemptDateAsc(User user, Quiz currentQuiz);
 	void deleteAttempt(QuizAttempt oldest);
@@ -1,9 +1,13 @@
 package com.exam.examserver.service;
 
+import java.util.List;
 import java.util.Set;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
+import com.exam.examserver.model.dto.CursorPageDTO;
+import com.exam.examserver.model.dto.QuizSummaryDTO;
 import com.exam.examserver.model.exam.question.Question;
 import com.exam.examserver.model.exam.quiz.Quiz;
 
@@ -12,13 +16,19 @@ public interface IQuizService {
 	public Quiz addQuiz(Quiz quiz);
 	public Quiz updateQuiz(Quiz quiz);
 	public Set<Quiz> getQuizzes();
+	List<QuizSummaryDTO> getQuizSummaries();
+	List<QuizSummaryDTO> getActiveQuizSummariesByCategory(Long categoryId);
 	public Quiz getQuiz(Long quizId);
 	public void deleteQuiz(Long quizId);
 	public Page<Quiz> getQuizzesPaged(int page, int size, Boolean active);
 	public Page<Question> getQuestionsByQuizPaged(Long qid, int page, int size);
+	Slice<Question> getQuestionsByQuizSlice(Long qid, int page, int size);
 	Page<Quiz> searchQuizzesPaged(String term, int page, int size, Boolean active);
+	Slice<Quiz> searchQuizzesSlice(String term, Long categoryId, int page, int size, Boolean active);
 	Page<Question> searchQuestionsByQuizPaged(Long qid, String term, int page, int size);
 	public Page<Quiz> searchQuizByCategoryPaged(Long categoryId, String trim, int page, int size, Boolean active);
 	public Page<Quiz> getQuizByCategoryPaged(Long categoryId, int page, int size, Boolean active);
+	CursorPageDTO<Quiz> getQuizzesAfter(String term, Long categoryId, Boolean active, String after, int size);
+	CursorPageDTO<Question> getQuestionsByQuizAfter(Long qid, String term, String after, int size);
 
 }
@@ -0,0 +1,16 @@
+package com.exam.examserver.service;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import com.exam.examserver.model.exam.category.Category;
+import com.exam.examserver.model.exam.question.Question;
+import com.exam.examserver.model.exam.quiz.Quiz;
+
+public interface ISearchService {
+	Page<Quiz> searchQuizzes(String term, Long categoryId, Boolean active, Pageable pageable);
+	Slice<Quiz> searchQuizzesSlice(String term, Long categoryId, Boolean active, Pageable pageable);
+	Page<Category> searchCategories(String term, Pageable pageable);
+	Page<Question> searchQuestions(Long quizId, String term, Pageable pageable);
+}
@@ -21,6 +21,8 @@ public interface IUserService {
 
 	void updatePassword(Long userId, String newPassword);
 
+	void upgradePasswordHash(Long userId, String encodedPassword);
+
 	String updateProfilePicture(Long userId, MultipartFile file);
 
 	void deleteProfilePicture(Long userId);
@@ -0,0 +1,21 @@
+package com.exam.examserver.service;
+
+/**
+ * Thrown when a login cannot be admitted because the password hashing pool is saturated.
+ * Carries the number of seconds the client should wait before retrying.
+ */
+public class LoginThrottledException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final long retryAfterSeconds;
+
+	public LoginThrottledException(String message, long retryAfterSeconds) {
+		super(message);
+		this.retryAfterSeconds = retryAfterSeconds;
+	}
+
+	public long getRetryAfterSeconds() {
+		return retryAfterSeconds;
+	}
+}
@@ -0,0 +1,325 @@
+package com.exam.examserver.service.impl;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.exam.examserver.cache.LruCache;
+import com.exam.examserver.model.exam.grading.GradedAnswer;
+import com.exam.examserver.model.exam.grading.GradingResult;
+import com.exam.examserver.model.exam.quiz.Quiz;
+import com.exam.examserver.model.exam.quizattempt.QuizAttempt;
+import com.exam.examserver.model.questionattempt.QuestionAttempt;
+import com.exam.examserver.model.user.User;
+import com.exam.examserver.monitoring.MetricsSource;
+import com.exam.examserver.repository.QuizAttemptRepository;
+import com.exam.examserver.service.IAttemptHistoryService;
+import com.exam.examserver.service.IAttemptRetentionService;
+import com.exam.examserver.service.IQuizAttemptService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Persists quiz attempt history off the grading request path.
+ *
+ * <p>Graded submissions are placed on a bounded queue and written by a single background
+ * worker, which drains up to {@code batch-size} attempts at a time and saves them in one
+ * transaction so the inserts of many users are grouped together. When the queue stays full
+ * for longer than {@code enqueue-timeout-ms}, the attempt is written on the caller thread
+ * instead, which applies back-pressure without losing history.</p>
+ *
+ * <p>Before inserting, the retention rule of {@link IAttemptRetentionService} is applied
+ * to each user/quiz pair in the batch unless retention runs as a scheduled sweep.</p>
+ *
+ * <p>A failed batch is retried up to {@code max-retries} times; after that each attempt is
+ * written on its own so a single bad attempt cannot discard the rest. Attempts that still
+ * fail are dropped and counted.</p>
+ *
+ * <p>Because the write may lag behind the submission, {@link #attemptRound(Long, Long)} gives
+ * callers a value that changes as soon as an attempt is recorded, without waiting for the
+ * insert.</p>
+ */
+@Service
+// The writer thread starts with this bean, so the id sequences must be aligned first
+@DependsOn("idSequenceAligner")
+public class AttemptHistoryServiceImpl implements IAttemptHistoryService, MetricsSource {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AttemptHistoryServiceImpl.class);
+
+    @Autowired
+    private IQuizAttemptService quizAttemptService;
+    @Autowired
+    private IAttemptRetentionService retentionService;
+    @Autowired
+    private QuizAttemptRepository quizAttemptRepository;
+
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<PendingAttempt> queue;
+    private final boolean async;
+    private final int batchSize;
+    private final long enqueueTimeoutMs;
+    private final int maxRetries;
+    private final LruCache<String, Long> rounds;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong inlineWrites = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    private static final class PendingAttempt {
+        private final User user;
+        private final GradingResult result;
+
+        private PendingAttempt(User user, GradingResult result) {
+            this.user = user;
+            this.result = result;
+        }
+    }
+
+    public AttemptHistoryServiceImpl(PlatformTransactionManager transactionManager,
+            @Value("${exam.attempts.history.async:true}") boolean async,
+            @Value("${exam.attempts.history.queue-capacity:2000}") int queueCapacity,
+            @Value("${exam.attempts.history.batch-size:100}") int batchSize,
+            @Value("${exam.attempts.history.enqueue-timeout-ms:50}") long enqueueTimeoutMs,
+            @Value("${exam.attempts.history.max-retries:3}") int maxRetries,
+            @Value("${exam.attempts.history.round-cache-size:10000}") int roundCacheSize) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.async = async;
+        this.batchSize = batchSize;
+        this.enqueueTimeoutMs = enqueueTimeoutMs;
+        this.maxRetries = maxRetries;
+        this.rounds = new LruCache<>(roundCacheSize, 0);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!async) {
+            LOGGER.info("Attempt history pipeline disabled, attempts are written inline");
+            return;
+        }
+        running = true;
+        worker = new Thread(this::runWorker, "attempt-history-writer");
+        worker.setDaemon(true);
+        worker.start();
+        LOGGER.info("Attempt history pipeline started (capacity {}, batch size {})",
+                queue.remainingCapacity(), batchSize);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (worker == null) {
+            return;
+        }
+        running = false;
+        worker.join(TimeUnit.SECONDS.toMillis(30));
+        if (!queue.isEmpty()) {
+            LOGGER.warn("Attempt history pipeline stopped with {} attempts still queued", queue.size());
+        }
+    }
+
+    /**
+     * Records a graded submission in the user's attempt history.
+     *
+     * <p>Returns as soon as the attempt is queued. If the pipeline is disabled or the queue
+     * stays full, the attempt is written synchronously.</p>
+     *
+     * @param user   the user who submitted the quiz
+     * @param result the grading result, whose graded answers become the question attempts
+     */
+    @Override
+    public void record(User user, GradingResult result) {
+        // Moved on before queueing, so a paper drawn right after this submission is a new one
+        rounds.put(roundKey(user.getId(), result.getQuiz().getqId()), ThreadLocalRandom.current().nextLong());
+        PendingAttempt pending = new PendingAttempt(user, result);
+        if (async) {
+            try {
+                if (queue.offer(pending, enqueueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    enqueued.incrementAndGet();
+                    return;
+                }
+                LOGGER.warn("Attempt history queue full, writing attempt of user '{}' inline", user.getUsername());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        inlineWrites.incrementAndGet();
+        writeSingle(pending);
+    }
+
+    /**
+     * Identifies how far a user has got through a quiz: the value stays the same until the next
+     * attempt of the user at the quiz is recorded, and changes as soon as {@link #record} is
+     * called, whether or not the attempt has been written yet.
+     *
+     * <p>Rounds are kept per instance, for the last {@code round-cache-size} user/quiz pairs.
+     * A pair not held yet starts from the user's latest stored attempt, so after a restart or
+     * an eviction the value changes once and is stable again from then on.</p>
+     *
+     * @param userId the ID of the user
+     * @param quizId the ID of the quiz
+     * @return an opaque value identifying the current attempt round
+     */
+    @Override
+    public long attemptRound(Long userId, Long quizId) {
+        return rounds.get(roundKey(userId, quizId), key -> {
+            Long latestAttempt = quizAttemptRepository.findLatestAttemptId(userId, quizId);
+            return latestAttempt == null ? 0L : latestAttempt;
+        });
+    }
+
+    private static String roundKey(Long userId, Long quizId) {
+        return userId + ":" + quizId;
+    }
+
+    private void runWorker() {
+        List<PendingAttempt> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingAttempt first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                LOGGER.error("Unexpected error in attempt history pipeline: {}", e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+        LOGGER.info("Attempt history pipeline stopped");
+    }
+
+    private void writeBatch(List<PendingAttempt> batch) {
+        for (int attempt = 0; attempt <= maxRetries; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> persist(batch));
+                batches.incrementAndGet();
+                written.addAndGet(batch.size());
+                LOGGER.debug("Wrote batch of {} quiz attempts", batch.size());
+                return;
+            } catch (RuntimeException e) {
+                if (attempt < maxRetries) {
+                    retries.incrementAndGet();
+                    LOGGER.warn("Failed to write batch of {} quiz attempts (try {} of {}): {}",
+                            batch.size(), attempt + 1, maxRetries + 1, e.getMessage());
+                    backOff(attempt);
+                } else {
+                    LOGGER.error("Giving up on batch of {} quiz attempts, writing them one by one", batch.size(), e);
+                }
+            }
+        }
+        for (PendingAttempt pending : batch) {
+            writeSingle(pending);
+        }
+    }
+
+    private void writeSingle(PendingAttempt pending) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(List.of(pending)));
+            written.incrementAndGet();
+        } catch (RuntimeException e) {
+            dropped.incrementAndGet();
+            LOGGER.error("Failed to save quiz attempt for user '{}' in quiz '{}': {}",
+                    pending.user.getUsername(), pending.result.getQuiz().getTitle(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Applies the history retention rule and inserts the attempts, at most {@code depth} per
+     * user and quiz when retention runs inline. Runs inside a transaction.
+     */
+    private void persist(List<PendingAttempt> batch) {
+        List<PendingAttempt> toInsert = batch;
+        if (retentionService.isInline()) {
+            // Attempts of the same user and quiz in this batch count towards the retention depth
+            Map<String, List<PendingAttempt>> byUserAndQuiz = new LinkedHashMap<>();
+            for (PendingAttempt pending : batch) {
+                String key = pending.user.getId() + ":" + pending.result.getQuiz().getqId();
+                byUserAndQuiz.computeIfAbsent(key, k -> new ArrayList<>()).add(pending);
+            }
+            int depth = retentionService.getDepth();
+            toInsert = new ArrayList<>(batch.size());
+            for (List<PendingAttempt> group : byUserAndQuiz.values()) {
+                // Attempts are queued in submission order; older ones beyond the depth would be pruned anyway
+                List<PendingAttempt> newest = group.subList(Math.max(0, group.size() - depth), group.size());
+                PendingAttempt pending = group.get(0);
+                retentionService.prune(pending.user.getId(), pending.result.getQuiz().getqId(), depth - newest.size());
+                toInsert.addAll(newest);
+            }
+        }
+
+        List<QuizAttempt> attempts = new ArrayList<>(toInsert.size());
+        for (PendingAttempt pending : toInsert) {
+            attempts.add(toEntity(pending));
+        }
+        quizAttemptService.saveAttempts(attempts);
+    }
+
+    private static QuizAttempt toEntity(PendingAttempt pending) {
+        GradingResult result = pending.result;
+        Quiz quiz = result.getQuiz();
+        QuizAttempt attempt = new QuizAttempt(quiz, pending.user, result.getMarksGot(),
+                result.getCorrectAnswers(), result.getAttempted());
+        for (GradedAnswer answer : result.getAnswers()) {
+            QuestionAttempt qa = new QuestionAttempt(attempt, answer.getQuestion(), answer.getGivenAnswer(), answer.isCorrect());
+            qa.setQuizId(quiz.getqId());
+            attempt.getQuestionAttempts().add(qa);
+        }
+        return attempt;
+    }
+
+    private static void backOff(int attempt) {
+        try {
+            Thread.sleep(100L << attempt);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "attemptHistoryPipeline";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("async", async);
+        metrics.put("queueDepth", queue.size());
+        metrics.put("queueRemainingCapacity", queue.remainingCapacity());
+        metrics.put("enqueued", enqueued.get());
+        metrics.put("written", written.get());
+        metrics.put("batches", batches.get());
+        metrics.put("retries", retries.get());
+        metrics.put("inlineWrites", inlineWrites.get());
+        metrics.put("dropped", dropped.get());
+        return metrics;
+    }
+}
@@ -0,0 +1,101 @@
+package com.exam.examserver.service.impl;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.exam.examserver.repository.QuizAttemptRepository;
+import com.exam.examserver.service.IAttemptRetentionService;
+
+/**
+ * Enforces the "keep the last N attempts per user and quiz" history rule with set-based deletes.
+ *
+ * <p>Pruning a user/quiz pair issues exactly two bulk {@code DELETE} statements, one for
+ * {@code question_attempts} and one for {@code quiz_attempts}, whatever the number of
+ * attempts removed. In {@code inline} mode the attempt history pipeline prunes before each
+ * insert; in {@code scheduled} mode the {@link AttemptRetentionSweeper} prunes periodically
+ * and writes never delete.</p>
+ */
+@Service
+public class AttemptRetentionServiceImpl implements IAttemptRetentionService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AttemptRetentionServiceImpl.class);
+
+    @Autowired
+    private QuizAttemptRepository quizAttemptRepository;
+
+    private final TransactionTemplate transactionTemplate;
+    private final int depth;
+    private final boolean inline;
+
+    public AttemptRetentionServiceImpl(PlatformTransactionManager transactionManager,
+            @Value("${exam.attempts.retention.depth:10}") int depth,
+            @Value("${exam.attempts.retention.mode:inline}") String mode) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Attempt retention depth must be at least 1: " + depth);
+        }
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.depth = depth;
+        this.inline = !"scheduled".equalsIgnoreCase(mode);
+    }
+
+    @Override
+    public int getDepth() {
+        return depth;
+    }
+
+    @Override
+    public boolean isInline() {
+        return inline;
+    }
+
+    /**
+     * Deletes all but the newest {@code keep} attempts of a user in a quiz, together with
+     * their question attempts.
+     *
+     * @param userId the user id
+     * @param quizId the quiz id
+     * @param keep   the number of most recent attempts to keep; {@code 0} removes them all
+     * @return the number of deleted quiz attempts
+     */
+    @Override
+    @Transactional
+    public int prune(Long userId, Long quizId, int keep) {
+        int deletedQuestions = quizAttemptRepository.deleteQuestionAttemptsBeyond(userId, quizId, keep);
+        int deletedAttempts = quizAttemptRepository.deleteAttemptsBeyond(userId, quizId, keep);
+        if (deletedAttempts > 0) {
+            LOGGER.debug("Pruned {} quiz attempts ({} question attempts) of user ID {} in quiz ID {}",
+                    deletedAttempts, deletedQuestions, userId, quizId);
+        }
+        return deletedAttempts;
+    }
+
+    /**
+     * Prunes every user/quiz pair holding more attempts than the retention depth.
+     * Each pair is pruned in its own transaction.
+     *
+     * @return the number of deleted quiz attempts
+     */
+    @Override
+    public int sweep() {
+        List<Object[]> pairs = quizAttemptRepository.findUserQuizPairsExceeding(depth);
+        int deleted = 0;
+        for (Object[] pair : pairs) {
+            Long userId = ((Number) pair[0]).longValue();
+            Long quizId = ((Number) pair[1]).longValue();
+            Integer pruned = transactionTemplate.execute(status -> prune(userId, quizId, depth));
+            deleted += pruned != null ? pruned : 0;
+        }
+        if (!pairs.isEmpty()) {
+            LOGGER.info("Retention sweep pruned {} quiz attempts across {} user/quiz pairs", deleted, pairs.size());
+        }
+        return deleted;
+    }
+}
@@ -0,0 +1,34 @@
+package com.exam.examserver.service.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.exam.examserver.service.IAttemptRetentionService;
+
+/**
+ * Periodically applies the attempt retention rule off the request path.
+ * Only active when {@code exam.attempts.retention.mode=scheduled}.
+ */
+@Component
+@ConditionalOnProperty(name = "exam.attempts.retention.mode", havingValue = "scheduled")
+public class AttemptRetentionSweeper {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AttemptRetentionSweeper.class);
+
+    @Autowired
+    private IAttemptRetentionService retentionService;
+
+    @Scheduled(fixedDelayString = "${exam.attempts.retention.sweep-interval-ms:300000}",
+            initialDelayString = "${exam.attempts.retention.sweep-interval-ms:300000}")
+    public void sweep() {
+        try {
+            retentionService.sweep();
+        } catch (Exception ex) {
+            LOGGER.error("Attempt retention sweep failed: {}", ex.getMessage(), ex);
+        }
+    }
+}
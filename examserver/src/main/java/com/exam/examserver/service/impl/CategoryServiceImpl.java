@@ -1,5 +1,6 @@
 package com.exam.examserver.service.impl;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
@@ -17,9 +18,15 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.exam.examserver.cache.CategoryQuizCountCache;
+import com.exam.examserver.model.dto.CategoryQuizCountResponseDTO;
+import com.exam.examserver.model.dto.CursorPageDTO;
 import com.exam.examserver.model.exam.category.Category;
+import com.exam.examserver.pagination.KeysetCursor;
 import com.exam.examserver.repository.CategoryRepository;
+import com.exam.examserver.search.SearchIndex;
 import com.exam.examserver.service.ICategoryService;
+import com.exam.examserver.service.ISearchService;
 
 /**
  * Implementation of the Category service.
@@ -30,8 +37,16 @@ public class CategoryServiceImpl implements ICategoryService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(CategoryServiceImpl.class);
 
+    private static final String CURSOR_KIND = "category";
+
     @Autowired
     private CategoryRepository categoryRepository;
+    @Autowired
+    private CategoryQuizCountCache categoryQuizCountCache;
+    @Autowired
+    private ISearchService searchService;
+    @Autowired
+    private SearchIndex searchIndex;
 
     /**
      * Adds a new category.
@@ -43,7 +58,10 @@ public class CategoryServiceImpl implements ICategoryService {
     @Transactional()
     public Category addCategory(Category category) {
         LOGGER.info("Adding new category: {}", category.getTitle());
-        return categoryRepository.save(category);
+        categoryQuizCountCache.evict();
+        Category saved = categoryRepository.save(category);
+        searchIndex.indexCategory(saved);
+        return saved;
     }
 
     /**
@@ -60,7 +78,10 @@ public class CategoryServiceImpl implements ICategoryService {
             LOGGER.warn("Category with ID {} does not exist. Cannot update.", category.getCid());
             throw new IllegalArgumentException("Category not found with ID: " + category.getCid());
         }
-        return categoryRepository.save(category);
+        categoryQuizCountCache.evict();
+        Category saved = categoryRepository.save(category);
+        searchIndex.indexCategory(saved);
+        return saved;
     }
 
     /**
@@ -97,6 +118,32 @@ public class CategoryServiceImpl implements ICategoryService {
         return categoryRepository.findAll(pageable);
     }
 
+    /**
+     * Retrieves the categories after a cursor, ordered by title, without counting them.
+     *
+     * <p>Unlike {@link #getCategoriesPaged(int, int)}, the page starts after the title and id of
+     * the last category of the previous page, so the database seeks to it in the title index
+     * instead of skipping every earlier row, and categories inserted meanwhile do not shift
+     * the pages. The term, if any, is matched against the title and description with
+     * {@code LIKE}, whatever the search mode.</p>
+     *
+     * @param term  optional search term; {@code null} matches every category
+     * @param after the {@code next} token of the previous page; {@code null} or blank for the first page
+     * @param size  the number of categories per page
+     * @return the page, with the token of the next one
+     * @throws IllegalArgumentException if the token is invalid
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<Category> getCategoriesAfter(String term, String after, int size) {
+        KeysetCursor cursor = KeysetCursor.decode(CURSOR_KIND, after);
+        LOGGER.info("Fetching categories after cursor (search '{}', size {})", term, size);
+        return KeysetCursor.page(
+                categoryRepository.searchAfter(term, cursor != null ? cursor.getTitle() : null,
+                        cursor != null ? cursor.getId() : null, PageRequest.of(0, size)),
+                category -> KeysetCursor.of(CURSOR_KIND, category.getTitle(), category.getCid()));
+    }
+
     /**
      * Retrieves a category by its ID.
      *
@@ -131,9 +178,30 @@ public class CategoryServiceImpl implements ICategoryService {
             throw new IllegalArgumentException("Category not found with ID: " + categoryId);
         }
         categoryRepository.deleteById(categoryId);
+        categoryQuizCountCache.evict();
+        searchIndex.removeCategory(categoryId);
         LOGGER.info("Category with ID {} deleted successfully", categoryId);
     }
     
+    /**
+     * Retrieves the number of quizzes of every category, ordered by category title.
+     *
+     * <p>The counts come from {@link CategoryQuizCountCache}, which loads the totals and active
+     * counts of all categories with a single grouped query and no quiz entities.</p>
+     *
+     * @param activeOnly whether to count only active quizzes
+     * @return one entry per category, including categories without quizzes
+     */
+    @Override
+    public List<CategoryQuizCountResponseDTO> getQuizCounts(boolean activeOnly) {
+        List<CategoryQuizCountResponseDTO> result = new ArrayList<>();
+        for (CategoryQuizCountCache.Entry entry : categoryQuizCountCache.get()) {
+            result.add(new CategoryQuizCountResponseDTO(entry.getCategoryId(), entry.getCategoryTitle(),
+                    activeOnly ? entry.getActiveQuizCount() : entry.getQuizCount()));
+        }
+        return result;
+    }
+
     /**
      * Create multiple categories in a single operation.
      *
@@ -157,6 +225,8 @@ public class CategoryServiceImpl implements ICategoryService {
         LOGGER.info("Creating {} categories in bulk", categories.size());
 
         List<Category> savedCategories = categoryRepository.saveAll(categories);
+        categoryQuizCountCache.evict();
+        savedCategories.forEach(searchIndex::indexCategory);
 
         return new HashSet<>(savedCategories);
     }
@@ -184,8 +254,7 @@ public class CategoryServiceImpl implements ICategoryService {
         LOGGER.info("Searching categories with term: '{}' (page: {}, size: {})", term, page, size);
 
         Pageable pageable = PageRequest.of(page, size);
-        Page<Category> result = categoryRepository
-                .findByTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCase(term, term, pageable);
+        Page<Category> result = searchService.searchCategories(term, pageable);
 
         LOGGER.debug("Search for '{}' returned {} results (page {} of {})",
                 term, result.getNumberOfElements(), result.getNumber() + 1, result.getTotalPages());
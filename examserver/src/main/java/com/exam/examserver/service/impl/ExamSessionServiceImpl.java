@@ -0,0 +1,167 @@
+package com.exam.examserver.service.impl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.exam.examserver.cache.ExamSessionStore;
+import com.exam.examserver.model.dto.ExamSessionDTO;
+import com.exam.examserver.model.dto.QuestionDeliveryDTO;
+import com.exam.examserver.model.exam.grading.GradingResult;
+import com.exam.examserver.model.exam.session.ExamSession;
+import com.exam.examserver.model.user.User;
+import com.exam.examserver.service.IAttemptHistoryService;
+import com.exam.examserver.service.IExamSessionService;
+import com.exam.examserver.service.IGradingService;
+import com.exam.examserver.service.IQuestionSamplingService;
+
+/**
+ * Runs quizzes as server-side exam sessions.
+ *
+ * <p>Starting a quiz samples the paper, stores only its question ids, order and deadline in
+ * the {@link ExamSessionStore}, and returns the questions with the session id. Submitting
+ * sends just {@code questionId -> answer} pairs: the session is taken from the store (so it
+ * can be submitted once), graded against the cached answer key and recorded in the attempt
+ * history. Starting a quiz again while its session is live returns the same session, so the
+ * deadline cannot be reset by restarting.</p>
+ *
+ * <p>The deadline is {@code seconds-per-question} per delivered question; answers are still
+ * accepted during {@code grace-seconds} after it to absorb network latency.</p>
+ */
+@Service
+public class ExamSessionServiceImpl implements IExamSessionService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExamSessionServiceImpl.class);
+
+    @Autowired
+    private ExamSessionStore sessionStore;
+    @Autowired
+    private IQuestionSamplingService questionSamplingService;
+    @Autowired
+    private IGradingService gradingService;
+    @Autowired
+    private IAttemptHistoryService attemptHistoryService;
+
+    private final long secondsPerQuestion;
+    private final long graceMillis;
+
+    public ExamSessionServiceImpl(
+            @Value("${exam.sessions.seconds-per-question:60}") long secondsPerQuestion,
+            @Value("${exam.sessions.grace-seconds:30}") long graceSeconds) {
+        this.secondsPerQuestion = secondsPerQuestion;
+        this.graceMillis = TimeUnit.SECONDS.toMillis(graceSeconds);
+    }
+
+    /**
+     * Starts a quiz for a user. If the user already has a live session for the quiz, that
+     * session is returned with its original deadline; a new one is only created once the
+     * previous session has been submitted, closed or has expired.
+     *
+     * @param user   the user taking the quiz
+     * @param quizId the ID of the quiz
+     * @return the session id, deadline and delivered questions
+     * @throws IllegalArgumentException if the quiz does not exist
+     * @throws ResponseStatusException  with 404 if the quiz has no questions, or 503 if the session store is full
+     */
+    @Override
+    public ExamSessionDTO start(User user, Long quizId) {
+        ExamSession existing = sessionStore.findFor(user.getId(), quizId);
+        if (existing != null) {
+            return resume(user, existing);
+        }
+
+        List<QuestionDeliveryDTO> questions = questionSamplingService.samplePaper(quizId, user.getId(), false);
+        if (questions.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Quiz has no questions");
+        }
+
+        long[] questionIds = questions.stream().mapToLong(QuestionDeliveryDTO::getQuesId).toArray();
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(durationSeconds(questionIds));
+        ExamSession session = new ExamSession(UUID.randomUUID().toString(), user.getId(), quizId,
+                questionIds, deadline);
+
+        ExamSession stored = sessionStore.putIfAbsent(session, deadline + graceMillis);
+        if (stored == null) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many quizzes in progress, try again later");
+        }
+        if (stored != session) {
+            // A concurrent start of the same quiz won
+            return resume(user, stored);
+        }
+
+        LOGGER.info("User '{}' started quiz ID {} with {} questions (session {})",
+                user.getUsername(), quizId, questionIds.length, session.getSessionId());
+        return new ExamSessionDTO(session.getSessionId(), quizId, deadline, durationSeconds(questionIds), questions);
+    }
+
+    /**
+     * Delivers a live session again, with the questions it was started with and its original deadline.
+     */
+    private ExamSessionDTO resume(User user, ExamSession session) {
+        long[] questionIds = session.getQuestionIds();
+        List<QuestionDeliveryDTO> questions = questionSamplingService.loadPaper(session.getQuizId(), questionIds);
+        LOGGER.info("User '{}' resumed quiz ID {} (session {})", user.getUsername(), session.getQuizId(),
+                session.getSessionId());
+        return new ExamSessionDTO(session.getSessionId(), session.getQuizId(), session.getDeadline(),
+                durationSeconds(questionIds), questions);
+    }
+
+    private long durationSeconds(long[] questionIds) {
+        return questionIds.length * secondsPerQuestion;
+    }
+
+    /**
+     * Grades and closes an exam session.
+     *
+     * @param user      the user submitting the quiz
+     * @param sessionId the session returned when the quiz was started
+     * @param answers   the given answers, by question id
+     * @return the grading result
+     * @throws ResponseStatusException with 404 if the session is unknown or already submitted,
+     *                                 403 if it belongs to another user, or 410 if its deadline has passed
+     */
+    @Override
+    public GradingResult submit(User user, String sessionId, Map<Long, String> answers) {
+        ExamSession session = sessionStore.get(sessionId);
+        if (session == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Exam session not found or already submitted");
+        }
+        if (!session.getUserId().equals(user.getId())) {
+            LOGGER.warn("User '{}' tried to submit exam session {} of another user", user.getUsername(), sessionId);
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Exam session belongs to another user");
+        }
+        // Taking the session out of the store makes a second submission fail
+        if (sessionStore.take(sessionId) == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Exam session not found or already submitted");
+        }
+        if (System.currentTimeMillis() > session.getDeadline() + graceMillis) {
+            throw new ResponseStatusException(HttpStatus.GONE, "Exam session has expired");
+        }
+
+        GradingResult result = gradingService.grade(session.getQuizId(), session.getQuestionIds(), answers);
+        attemptHistoryService.record(user, result);
+        LOGGER.info("User '{}' submitted quiz ID {} (session {})", user.getUsername(), session.getQuizId(), sessionId);
+        return result;
+    }
+
+    /**
+     * Closes every open session of a user for a quiz without grading it.
+     *
+     * @return the number of closed sessions
+     */
+    @Override
+    public int close(Long userId, Long quizId) {
+        int closed = sessionStore.removeFor(userId, quizId);
+        LOGGER.info("Closed {} exam sessions of user ID {} for quiz ID {}", closed, userId, quizId);
+        return closed;
+    }
+}
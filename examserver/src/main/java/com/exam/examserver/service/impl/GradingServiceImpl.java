@@ -0,0 +1,248 @@
+package com.exam.examserver.service.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.exam.examserver.cache.AnswerKey;
+import com.exam.examserver.cache.AnswerKeyCache;
+import com.exam.examserver.model.exam.grading.GradedAnswer;
+import com.exam.examserver.model.exam.grading.GradingResult;
+import com.exam.examserver.model.exam.question.Question;
+import com.exam.examserver.model.exam.quiz.Quiz;
+import com.exam.examserver.repository.QuestionRepository;
+import com.exam.examserver.service.IGradingService;
+
+/**
+ * Grades quiz submissions in memory against the quiz answer key.
+ *
+ * <p>The answer key is served from {@link AnswerKeyCache}; when the submission does not
+ * name its quiz or references questions missing from the cached key, the key for the
+ * submitted questions is loaded with a single batched query instead.</p>
+ */
+@Service
+public class GradingServiceImpl implements IGradingService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GradingServiceImpl.class);
+
+    @Autowired
+    private QuestionRepository questionRepository;
+    @Autowired
+    private AnswerKeyCache answerKeyCache;
+
+    /**
+     * Grades a submitted quiz.
+     *
+     * <p>Each question is worth {@code maxMarks / submittedQuestions.size()} marks and the
+     * total is rounded to two decimals. On an answer-key cache hit no database access is made;
+     * the returned questions and quiz are then detached references carrying only the fields
+     * needed for grading and history persistence.</p>
+     *
+     * @param submittedQuestions the questions sent by the client, carrying the given answers
+     * @return the {@link GradingResult} with the score summary and every graded answer
+     * @throws IllegalArgumentException if the submission is empty, references an unknown question
+     *                                  or mixes questions of several quizzes
+     */
+    @Override
+    public GradingResult grade(List<Question> submittedQuestions) {
+        if (submittedQuestions == null || submittedQuestions.isEmpty()) {
+            LOGGER.warn("Received empty quiz submission");
+            throw new IllegalArgumentException("No questions submitted");
+        }
+
+        return grade(submittedQuizId(submittedQuestions), submittedQuestions);
+    }
+
+    /**
+     * Grades the paper of an exam session: every delivered question counts, and questions
+     * without an answer are graded as not attempted. Answers to questions that were not
+     * delivered are ignored.
+     *
+     * @param quizId       the ID of the quiz the paper belongs to
+     * @param questionIds  the delivered question ids
+     * @param givenAnswers the given answers, by question id
+     * @return the {@link GradingResult} with the score summary and every graded answer
+     * @throws IllegalArgumentException if the paper is empty or references an unknown question
+     */
+    @Override
+    public GradingResult grade(Long quizId, long[] questionIds, Map<Long, String> givenAnswers) {
+        if (questionIds == null || questionIds.length == 0) {
+            LOGGER.warn("Received empty exam paper for quiz ID {}", quizId);
+            throw new IllegalArgumentException("No questions submitted");
+        }
+
+        Quiz quiz = new Quiz();
+        quiz.setqId(quizId);
+        List<Question> submittedQuestions = new ArrayList<>(questionIds.length);
+        for (long questionId : questionIds) {
+            Question submitted = new Question();
+            submitted.setQuesId(questionId);
+            submitted.setGivenAnswer(givenAnswers != null ? givenAnswers.get(questionId) : null);
+            submitted.setQuiz(quiz);
+            submittedQuestions.add(submitted);
+        }
+        return grade(quizId, submittedQuestions);
+    }
+
+    /**
+     * Turns compact {@code [quesId, optionIndex]} pairs into given answers, resolving each
+     * option index (1 to 4) to its text through the cached answer key. Index 0 means the
+     * question was not answered.
+     *
+     * @param quizId  the ID of the quiz
+     * @param answers the compact answers
+     * @return the given answers by question id, in submission order; unanswered questions map to {@code null}
+     * @throws IllegalArgumentException if the quiz has no answer key, a pair is malformed,
+     *                                  a question is not part of the quiz or an index is out of range
+     */
+    @Override
+    public Map<Long, String> resolveAnswers(Long quizId, long[][] answers) {
+        if (quizId == null || answers == null || answers.length == 0) {
+            throw new IllegalArgumentException("No questions submitted");
+        }
+        AnswerKey answerKey = answerKeyCache.get(quizId);
+        if (answerKey == null) {
+            throw new IllegalArgumentException("Quiz not found or without questions: " + quizId);
+        }
+
+        Map<Long, String> givenAnswers = new LinkedHashMap<>(answers.length * 2);
+        for (long[] pair : answers) {
+            if (pair == null || pair.length != 2) {
+                throw new IllegalArgumentException("Each answer must be a [questionId, optionIndex] pair");
+            }
+            Long questionId = pair[0];
+            if (!answerKey.contains(questionId)) {
+                throw new IllegalArgumentException("Question " + questionId + " does not belong to quiz " + quizId);
+            }
+            String givenAnswer = null;
+            if (pair[1] != 0) {
+                givenAnswer = pair[1] <= Integer.MAX_VALUE ? answerKey.getOption(questionId, (int) pair[1]) : null;
+                if (givenAnswer == null) {
+                    throw new IllegalArgumentException("Invalid option " + pair[1] + " for question " + questionId);
+                }
+            }
+            givenAnswers.put(questionId, givenAnswer);
+        }
+        return givenAnswers;
+    }
+
+    private GradingResult grade(Long quizId, List<Question> submittedQuestions) {
+        if (quizId != null) {
+            AnswerKey answerKey = answerKeyCache.get(quizId);
+            if (answerKey != null && coversSubmission(answerKey, submittedQuestions)) {
+                return score(submittedQuestions, referencesFor(answerKey, submittedQuestions));
+            }
+            LOGGER.debug("Cached answer key for quiz ID {} does not cover the submission, loading from database", quizId);
+        }
+
+        return score(submittedQuestions, loadAnswerKey(submittedQuestions));
+    }
+
+    /**
+     * Loads the submitted questions, with their quiz and category, in one batched query.
+     */
+    private Map<Long, Question> loadAnswerKey(List<Question> submittedQuestions) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Question submitted : submittedQuestions) {
+            ids.add(submitted.getQuesId());
+        }
+
+        Map<Long, Question> answerKey = new HashMap<>();
+        for (Question question : questionRepository.findAllWithQuizByQuesIdIn(ids)) {
+            answerKey.put(question.getQuesId(), question);
+        }
+        LOGGER.debug("Loaded answer key for {} of {} submitted questions", answerKey.size(), ids.size());
+        return answerKey;
+    }
+
+    /**
+     * Builds detached question and quiz references from a cached answer key.
+     */
+    private Map<Long, Question> referencesFor(AnswerKey answerKey, List<Question> submittedQuestions) {
+        Quiz quiz = new Quiz();
+        quiz.setqId(answerKey.getQuizId());
+        quiz.setTitle(answerKey.getQuizTitle());
+        quiz.setMaxMarks(answerKey.getMaxMarks());
+
+        Map<Long, Question> references = new HashMap<>();
+        for (Question submitted : submittedQuestions) {
+            Question reference = new Question();
+            reference.setQuesId(submitted.getQuesId());
+            reference.setAnswer(answerKey.getAnswer(submitted.getQuesId()));
+            reference.setQuiz(quiz);
+            references.put(reference.getQuesId(), reference);
+        }
+        return references;
+    }
+
+    private GradingResult score(List<Question> submittedQuestions, Map<Long, Question> answerKey) {
+        Quiz quiz = null;
+        double marksSingle = 0.0;
+        double marksGot = 0.0;
+        double correctAnswers = 0.0;
+        int attempted = 0;
+        List<GradedAnswer> answers = new ArrayList<>(submittedQuestions.size());
+
+        for (Question submitted : submittedQuestions) {
+            Question question = answerKey.get(submitted.getQuesId());
+            if (question == null) {
+                LOGGER.warn("Question with ID {} not found", submitted.getQuesId());
+                throw new IllegalArgumentException("Question not found with ID: " + submitted.getQuesId());
+            }
+            if (quiz == null) {
+                quiz = question.getQuiz();
+                marksSingle = quiz.getMaxMarks() / (double) submittedQuestions.size();
+            } else if (question.getQuiz() == null || !quiz.getqId().equals(question.getQuiz().getqId())) {
+                // Scored against one quiz's marks and recorded under it, so every question must belong to it
+                LOGGER.warn("Submission mixes questions of quiz ID {} with question ID {} of another quiz",
+                        quiz.getqId(), question.getQuesId());
+                throw new IllegalArgumentException("Question " + question.getQuesId() + " does not belong to quiz " + quiz.getqId());
+            }
+
+            String givenAnswer = submitted.getGivenAnswer();
+            boolean correct = isCorrect(question.getAnswer(), givenAnswer);
+            LOGGER.debug("Evaluating Question ID: {}, Correct Answer: {}, Given Answer: {}",
+                    question.getQuesId(), question.getAnswer(), givenAnswer);
+
+            if (correct) {
+                correctAnswers++;
+                marksGot += marksSingle;
+            }
+            if (givenAnswer != null && !givenAnswer.trim().isEmpty()) {
+                attempted++;
+            }
+            answers.add(new GradedAnswer(question, givenAnswer, correct));
+        }
+
+        marksGot = Math.round(marksGot * 100.0) / 100.0; // Round to 2 decimals
+
+        return new GradingResult(quiz, marksGot, correctAnswers, attempted, answers);
+    }
+
+    private static Long submittedQuizId(List<Question> submittedQuestions) {
+        Quiz quiz = submittedQuestions.get(0).getQuiz();
+        return quiz != null ? quiz.getqId() : null;
+    }
+
+    private static boolean coversSubmission(AnswerKey answerKey, List<Question> submittedQuestions) {
+        for (Question submitted : submittedQuestions) {
+            if (!answerKey.contains(submitted.getQuesId())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isCorrect(String answer, String givenAnswer) {
+        return answer != null && givenAnswer != null && answer.trim().equals(givenAnswer.trim());
+    }
+}
@@ -0,0 +1,223 @@
+package com.exam.examserver.service.impl;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.exam.examserver.model.user.User;
+import com.exam.examserver.monitoring.MetricsSource;
+import com.exam.examserver.service.ILoginService;
+import com.exam.examserver.service.IUserService;
+import com.exam.examserver.service.LoginThrottledException;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Checks login credentials on a dedicated, bounded BCrypt pool.
+ *
+ * <p>Password hashing runs on at most {@code threads} threads, so a burst of logins cannot
+ * take every core away from the rest of the API. Hashes wait in a bounded queue; when it is
+ * full, or a hash waited longer than {@code queue-deadline-ms} before starting, the login is
+ * refused with {@link LoginThrottledException} instead of piling up.</p>
+ *
+ * <p>The user is loaded once and returned, so the caller can issue the token without loading
+ * it again. Unknown users are hashed against a dummy hash so they take as long as real ones.
+ * When {@code rehash} is enabled, a stored hash weaker than the configured BCrypt strength
+ * is replaced after a successful login.</p>
+ */
+@Service
+public class LoginServiceImpl implements ILoginService, MetricsSource {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoginServiceImpl.class);
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+    @Autowired
+    private IUserService userService;
+    @Autowired
+    private BCryptPasswordEncoder passwordEncoder;
+
+    private final ThreadPoolExecutor executor;
+    private final long queueDeadlineNanos;
+    private final long retryAfterSeconds;
+    private final boolean rehash;
+    private String dummyHash;
+
+    private final AtomicLong logins = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong rehashed = new AtomicLong();
+    private final AtomicLong hashes = new AtomicLong();
+    private final AtomicLong hashNanos = new AtomicLong();
+    private final LongAccumulator maxHashNanos = new LongAccumulator(Math::max, 0);
+    private final AtomicLong queueWaitNanos = new AtomicLong();
+    private final LongAccumulator maxQueueWaitNanos = new LongAccumulator(Math::max, 0);
+
+    public LoginServiceImpl(
+            @Value("${exam.security.login.threads:0}") int threads,
+            @Value("${exam.security.login.queue-capacity:200}") int queueCapacity,
+            @Value("${exam.security.login.queue-deadline-ms:2000}") long queueDeadlineMs,
+            @Value("${exam.security.login.retry-after-seconds:2}") long retryAfterSeconds,
+            @Value("${exam.security.login.rehash:true}") boolean rehash) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "login-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.queueDeadlineNanos = TimeUnit.MILLISECONDS.toNanos(queueDeadlineMs);
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.rehash = rehash;
+    }
+
+    @PostConstruct
+    void init() {
+        dummyHash = passwordEncoder.encode("dummy-password-for-unknown-users");
+        LOGGER.info("Login hashing pool started with {} threads", executor.getCorePoolSize());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Checks a username and password.
+     *
+     * @param username the username
+     * @param password the raw password
+     * @return the authenticated user, as loaded for the check
+     * @throws BadCredentialsException  if the user does not exist or the password is wrong
+     * @throws DisabledException        if the account is disabled
+     * @throws LoginThrottledException  if the hashing pool cannot take the login in time
+     */
+    @Override
+    public User authenticate(String username, String password) {
+        User user;
+        try {
+            user = (User) userDetailsService.loadUserByUsername(username);
+        } catch (UsernameNotFoundException e) {
+            user = null;
+        }
+        if (user != null && !user.isEnabled()) {
+            throw new DisabledException("User is disabled");
+        }
+
+        String hash = user != null && user.getPassword() != null ? user.getPassword() : dummyHash;
+        boolean matches = password != null && runHash(() -> passwordEncoder.matches(password, hash));
+        if (user == null || !matches) {
+            failures.incrementAndGet();
+            throw new BadCredentialsException("Bad credentials");
+        }
+        logins.incrementAndGet();
+
+        if (rehash && passwordEncoder.upgradeEncoding(hash)) {
+            upgradeHash(user, password);
+        }
+        return user;
+    }
+
+    private void upgradeHash(User user, String password) {
+        try {
+            String upgraded = runHash(() -> passwordEncoder.encode(password));
+            userService.upgradePasswordHash(user.getId(), upgraded);
+            rehashed.incrementAndGet();
+        } catch (RuntimeException e) {
+            // Best effort: the login already succeeded, the next one will try again
+            LOGGER.warn("Could not upgrade password hash of user '{}': {}", user.getUsername(), e.getMessage());
+        }
+    }
+
+    /**
+     * Runs a hashing task on the pool and waits for its result.
+     */
+    private <T> T runHash(Callable<T> task) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                long waited = startedAt - enqueuedAt;
+                queueWaitNanos.addAndGet(waited);
+                maxQueueWaitNanos.accumulate(waited);
+                if (waited > queueDeadlineNanos) {
+                    expired.incrementAndGet();
+                    throw new LoginThrottledException("Login queue deadline exceeded", retryAfterSeconds);
+                }
+                T result = task.call();
+                long took = System.nanoTime() - startedAt;
+                hashes.incrementAndGet();
+                hashNanos.addAndGet(took);
+                maxHashNanos.accumulate(took);
+                return result;
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            LOGGER.warn("Login hashing queue full ({} waiting), refusing login", executor.getQueue().size());
+            throw new LoginThrottledException("Too many logins in progress", retryAfterSeconds);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new LoginThrottledException("Login interrupted", retryAfterSeconds);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "loginPipeline";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        long hashCount = hashes.get();
+        long waitCount = hashCount + expired.get();
+        metrics.put("threads", executor.getCorePoolSize());
+        metrics.put("activeHashes", executor.getActiveCount());
+        metrics.put("queueDepth", executor.getQueue().size());
+        metrics.put("logins", logins.get());
+        metrics.put("failures", failures.get());
+        metrics.put("rejected", rejected.get());
+        metrics.put("expiredInQueue", expired.get());
+        metrics.put("rehashed", rehashed.get());
+        metrics.put("hashes", hashCount);
+        metrics.put("averageHashMillis", hashCount == 0 ? 0.0 : hashNanos.get() / 1_000_000.0 / hashCount);
+        metrics.put("maxHashMillis", maxHashNanos.get() / 1_000_000.0);
+        metrics.put("averageQueueWaitMillis", waitCount == 0 ? 0.0 : queueWaitNanos.get() / 1_000_000.0 / waitCount);
+        metrics.put("maxQueueWaitMillis", maxQueueWaitNanos.get() / 1_000_000.0);
+        return metrics;
+    }
+}
@@ -0,0 +1,97 @@
+package com.exam.examserver.service.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.exam.examserver.repository.QuestionRepository;
+import com.exam.examserver.service.IQuestionExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Writes the question bank of a quiz straight from a forward-only database cursor.
+ *
+ * <p>Rows are read as scalar columns from {@link QuestionRepository#streamExportRowsByQuizId(Long)}
+ * and written with a {@link JsonGenerator}, so neither the result set nor managed entities pile up
+ * on the heap. The output uses the same shape as the question JSON import
+ * ({@code quiz} is written as {@code {"qId": ...}}), either as JSON Lines or as a JSON array.</p>
+ */
+@Service
+public class QuestionExportServiceImpl implements IQuestionExportService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QuestionExportServiceImpl.class);
+
+    // Rows written between flushes of the response stream
+    private static final int FLUSH_EVERY = 500;
+
+    private static final String[] COLUMNS = {
+            "quesId", "content", "image", "option1", "option2", "option3", "option4", "answer"
+    };
+
+    @Autowired
+    private QuestionRepository questionRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Streams every question of a quiz to the given output.
+     *
+     * @param quizId    the ID of the quiz to export
+     * @param jsonLines {@code true} for one JSON object per line, {@code false} for a JSON array
+     * @param out       the stream to write to; it is flushed but not closed
+     * @return the number of questions written
+     * @throws IOException if writing to the output fails
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportQuestions(Long quizId, boolean jsonLines, OutputStream out) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+                Stream<Object[]> rows = questionRepository.streamExportRowsByQuizId(quizId)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (jsonLines) {
+                generator.setRootValueSeparator(null);
+            } else {
+                generator.writeStartArray();
+            }
+
+            Iterator<Object[]> it = rows.iterator();
+            while (it.hasNext()) {
+                writeQuestion(generator, it.next(), quizId);
+                if (jsonLines) {
+                    generator.writeRaw('\n');
+                }
+                if (++count % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+
+            if (!jsonLines) {
+                generator.writeEndArray();
+            }
+            generator.flush();
+        }
+        LOGGER.info("Exported {} questions of Quiz ID {}", count, quizId);
+        return count;
+    }
+
+    private static void writeQuestion(JsonGenerator generator, Object[] row, Long quizId) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField(COLUMNS[0], ((Number) row[0]).longValue());
+        for (int i = 1; i < COLUMNS.length; i++) {
+            generator.writeStringField(COLUMNS[i], (String) row[i]);
+        }
+        generator.writeObjectFieldStart("quiz");
+        generator.writeNumberField("qId", quizId);
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,224 @@
+package com.exam.examserver.service.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.exam.examserver.model.dto.QuestionImportResultDTO;
+import com.exam.examserver.model.dto.QuestionImportResultDTO.ChunkResult;
+import com.exam.examserver.model.exam.question.Question;
+import com.exam.examserver.model.exam.quiz.Quiz;
+import com.exam.examserver.repository.QuizRepository;
+import com.exam.examserver.service.IQuestionImportService;
+import com.exam.examserver.service.IQuestionService;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Imports a JSON array or JSON Lines file of questions without materializing the whole file.
+ *
+ * <p>The input is read question by question with a {@link JsonParser}: elements of a
+ * top-level array, or top-level objects one after another as written by the JSON Lines
+ * export. Each question is
+ * validated and buffered; every {@code chunk-size} valid questions are saved through
+ * {@link IQuestionService#saveAll(List)} in their own transaction and the persistence context
+ * is cleared, so heap usage and lock time depend on the chunk size rather than the file size.
+ * A failing chunk is rolled back on its own and reported; chunks already committed stay.</p>
+ */
+@Service
+public class QuestionImportServiceImpl implements IQuestionImportService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QuestionImportServiceImpl.class);
+
+    @Autowired
+    private IQuestionService questionService;
+    @Autowired
+    private QuizRepository quizRepository;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Deliberately not the application mapper: question files have always been read with the
+    // Jackson defaults, so e.g. an unknown or misspelled property fails instead of being dropped
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final int chunkSize;
+
+    public QuestionImportServiceImpl(@Value("${exam.questions.import.chunk-size:200}") int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("exam.questions.import.chunk-size must be positive");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Reads a whole JSON array of questions in memory, with the same mapper settings as the
+     * streaming import.
+     *
+     * @param json input stream holding a JSON array of questions
+     * @return the questions of the array
+     * @throws IOException if the stream cannot be read or is not a valid array of questions
+     */
+    @Override
+    public List<Question> readQuestions(InputStream json) throws IOException {
+        return objectMapper.readValue(json, new TypeReference<List<Question>>() {});
+    }
+
+    /**
+     * Streams the questions of a JSON array or JSON Lines input into the database in chunks.
+     *
+     * @param json   input stream holding a JSON array of questions or one question object per line
+     * @param quizId when not {@code null}, the quiz every question is imported into, replacing
+     *               the quiz ID of the file, e.g. one exported from another environment
+     * @return the per-chunk import summary
+     * @throws IOException if the stream cannot be read or does not start with an array or object
+     */
+    @Override
+    public QuestionImportResultDTO importQuestions(InputStream json, Long quizId) throws IOException {
+        QuestionImportResultDTO result = new QuestionImportResultDTO();
+        // Quiz ids already checked in this import, so each quiz is looked up only once
+        Map<Long, Boolean> knownQuizzes = new HashMap<>();
+        List<Question> buffer = new ArrayList<>(chunkSize);
+        int index = 0;
+        int firstIndex = 0;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(json)) {
+            JsonToken start = parser.nextToken();
+            if (start != JsonToken.START_ARRAY && start != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected a JSON array or JSON Lines of questions");
+            }
+            boolean jsonLines = start == JsonToken.START_OBJECT;
+            try {
+                while (nextQuestion(parser, jsonLines, index == 0)) {
+                    // Read one element as a tree so a bad question can be skipped without losing the parser position
+                    JsonNode node = parser.readValueAsTree();
+                    result.countRead();
+                    String error = null;
+                    Question question = null;
+                    try {
+                        question = objectMapper.treeToValue(node, Question.class);
+                        if (question != null) {
+                            // Always insert: IDs from an export of another environment are not reused
+                            question.setQuesId(null);
+                            if (quizId != null) {
+                                question.setQuiz(quizReference(quizId));
+                            }
+                        }
+                        error = validate(question, knownQuizzes);
+                    } catch (JsonProcessingException e) {
+                        error = e.getOriginalMessage();
+                    }
+
+                    if (error != null) {
+                        result.reject(index, error);
+                    } else {
+                        if (buffer.isEmpty()) {
+                            firstIndex = index;
+                        }
+                        buffer.add(question);
+                        if (buffer.size() == chunkSize) {
+                            flush(buffer, firstIndex, result);
+                        }
+                    }
+                    index++;
+                }
+            } catch (JsonParseException e) {
+                // Keep what was read before the malformed part; the rest of the file is not read, so nothing is rejected
+                LOGGER.warn("Malformed JSON after {} questions: {}", index, e.getOriginalMessage());
+                flush(buffer, firstIndex, result);
+                result.stopAt(index, e.getOriginalMessage());
+                return result;
+            }
+        }
+        flush(buffer, firstIndex, result);
+
+        LOGGER.info("Question import finished: {} read, {} imported, {} rejected, {} failed in {} chunks",
+                result.getRead(), result.getImported(), result.getRejected(), result.getFailed(),
+                result.getChunks().size());
+        return result;
+    }
+
+    /**
+     * Moves the parser to the start of the next question.
+     *
+     * @param first whether no question has been read yet; a JSON Lines input is then already on it
+     * @return {@code false} after the last question
+     */
+    private static boolean nextQuestion(JsonParser parser, boolean jsonLines, boolean first) throws IOException {
+        JsonToken token = jsonLines && first ? parser.currentToken() : parser.nextToken();
+        if (jsonLines) {
+            return token != null;
+        }
+        if (token == null) {
+            throw new JsonParseException(parser, "Unexpected end of JSON array");
+        }
+        return token != JsonToken.END_ARRAY;
+    }
+
+    /**
+     * @return a detached quiz carrying only its ID, enough to link an imported question to it
+     */
+    private static Quiz quizReference(Long quizId) {
+        Quiz quiz = new Quiz();
+        quiz.setqId(quizId);
+        return quiz;
+    }
+
+    private void flush(List<Question> buffer, int firstIndex, QuestionImportResultDTO result) {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        int chunk = result.getChunks().size();
+        try {
+            questionService.saveAll(buffer);
+            result.addChunk(new ChunkResult(chunk, firstIndex, buffer.size(), true, null));
+            LOGGER.debug("Committed import chunk {} ({} questions)", chunk, buffer.size());
+        } catch (RuntimeException e) {
+            LOGGER.error("Import chunk {} starting at question {} failed: {}", chunk, firstIndex, e.getMessage());
+            result.addChunk(new ChunkResult(chunk, firstIndex, buffer.size(), false, e.getMessage()));
+        } finally {
+            buffer.clear();
+            // An open-in-view session would otherwise keep every saved question managed
+            entityManager.clear();
+        }
+    }
+
+    private String validate(Question question, Map<Long, Boolean> knownQuizzes) {
+        if (question == null) {
+            return "Question is null";
+        }
+        if (isBlank(question.getContent())) {
+            return "Content is required";
+        }
+        if (isBlank(question.getAnswer())) {
+            return "Answer is required";
+        }
+        if (question.getQuiz() == null || question.getQuiz().getqId() == null) {
+            return "Quiz ID is required";
+        }
+        Long quizId = question.getQuiz().getqId();
+        if (!knownQuizzes.computeIfAbsent(quizId, quizRepository::existsById)) {
+            return "Quiz not found with ID: " + quizId;
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,200 @@
+package com.exam.examserver.service.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntUnaryOperator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.exam.examserver.cache.AnswerKey;
+import com.exam.examserver.cache.AnswerKeyCache;
+import com.exam.examserver.model.dto.QuestionDeliveryDTO;
+import com.exam.examserver.model.dto.QuizReferenceDTO;
+import com.exam.examserver.repository.QuestionRepository;
+import com.exam.examserver.repository.QuizRepository;
+import com.exam.examserver.service.IAttemptHistoryService;
+import com.exam.examserver.service.IQuestionSamplingService;
+
+/**
+ * Picks the questions of a quiz paper without loading the question bank.
+ *
+ * <p>The sorted question ids of each quiz come from the cached {@link AnswerKey}, so they
+ * share its invalidation. {@code numberOfQuestions} ids are drawn with a partial
+ * Fisher&ndash;Yates shuffle that only records the swapped positions, which costs
+ * O(numberOfQuestions) whatever the bank size. Only the drawn rows are then fetched.</p>
+ *
+ * <p>A paper never holds more than {@code exam.delivery.max-paper-questions} questions, even
+ * for a quiz whose {@code numberOfQuestions} is unset or larger. The admin question listing
+ * pages through the whole bank and is not affected by this cap.</p>
+ *
+ * <p>With {@code exam.delivery.deterministic-papers} enabled, the draw for a user is seeded
+ * from the user, the quiz and the user's attempt round, so reloading the quiz returns the
+ * same paper until the next attempt is submitted. The round moves on when the submission is
+ * recorded, not when the attempt history is written, so the next paper differs even while the
+ * attempt is still queued.</p>
+ */
+@Service
+public class QuestionSamplingServiceImpl implements IQuestionSamplingService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QuestionSamplingServiceImpl.class);
+
+    @Autowired
+    private AnswerKeyCache answerKeyCache;
+    @Autowired
+    private QuestionRepository questionRepository;
+    @Autowired
+    private QuizRepository quizRepository;
+    @Autowired
+    private IAttemptHistoryService attemptHistoryService;
+
+    private final boolean deterministicPapers;
+    private final int maxPaperQuestions;
+
+    public QuestionSamplingServiceImpl(
+            @Value("${exam.delivery.deterministic-papers:true}") boolean deterministicPapers,
+            @Value("${exam.delivery.max-paper-questions:100}") int maxPaperQuestions) {
+        if (maxPaperQuestions < 1) {
+            throw new IllegalArgumentException("exam.delivery.max-paper-questions must be at least 1");
+        }
+        this.deterministicPapers = deterministicPapers;
+        this.maxPaperQuestions = maxPaperQuestions;
+    }
+
+    /**
+     * Draws the paper a user gets for a quiz.
+     *
+     * @param quizId the ID of the quiz
+     * @param userId the ID of the user, or {@code null} for a purely random paper
+     * @param withAnswers whether to include the correct answers, for admins previewing the quiz
+     * @return the drawn questions, in random order
+     * @throws IllegalArgumentException if the quiz does not exist
+     */
+    @Override
+    public List<QuestionDeliveryDTO> samplePaper(Long quizId, Long userId, boolean withAnswers) {
+        Long seed = null;
+        if (deterministicPapers && userId != null) {
+            seed = mix(mix(mix(userId) ^ quizId) ^ attemptHistoryService.attemptRound(userId, quizId));
+        }
+        return sample(quizId, seed, withAnswers);
+    }
+
+    /**
+     * Draws {@code numberOfQuestions} questions of a quiz, at most {@code max-paper-questions}.
+     *
+     * @param quizId the ID of the quiz
+     * @param seed   seed of the draw, or {@code null} for a random draw
+     * @param withAnswers whether to include the correct answers
+     * @return the drawn questions, in random order; empty if the quiz has no questions
+     * @throws IllegalArgumentException if the quiz does not exist
+     */
+    @Override
+    public List<QuestionDeliveryDTO> sample(Long quizId, Long seed, boolean withAnswers) {
+        AnswerKey key = answerKeyCache.get(quizId);
+        if (key == null) {
+            if (!quizRepository.existsById(quizId)) {
+                LOGGER.warn("Quiz with ID {} not found", quizId);
+                throw new IllegalArgumentException("Quiz not found with ID: " + quizId);
+            }
+            return List.of();
+        }
+
+        int bankSize = key.size();
+        int count = key.getNumberOfQuestions() == null ? bankSize : Math.min(key.getNumberOfQuestions(), bankSize);
+        count = Math.min(count, maxPaperQuestions);
+        List<Long> ids = new ArrayList<>(count);
+        for (int position : drawPositions(bankSize, count, seed)) {
+            ids.add(key.questionIdAt(position));
+        }
+
+        List<QuestionDeliveryDTO> paper = deliver(key, ids, withAnswers);
+
+        LOGGER.info("Sampled {} of {} questions for Quiz ID {}: '{}'", paper.size(), bankSize, quizId, key.getQuizTitle());
+        return paper;
+    }
+
+    /**
+     * Loads the questions of a paper drawn earlier, such as the paper of an exam session.
+     *
+     * @param quizId      the ID of the quiz
+     * @param questionIds the drawn question ids, in delivery order
+     * @return the questions still in the quiz, in the given order, without answers
+     */
+    @Override
+    public List<QuestionDeliveryDTO> loadPaper(Long quizId, long[] questionIds) {
+        AnswerKey key = answerKeyCache.get(quizId);
+        if (key == null) {
+            return List.of();
+        }
+        List<Long> ids = new ArrayList<>(questionIds.length);
+        for (long id : questionIds) {
+            ids.add(id);
+        }
+        return deliver(key, ids, false);
+    }
+
+    /**
+     * Fetches the delivered columns of the given questions and attaches the quiz from the key.
+     */
+    private List<QuestionDeliveryDTO> deliver(AnswerKey key, List<Long> ids, boolean withAnswers) {
+        int count = ids.size();
+        // Only the delivered columns are read; the quiz reference and answers come from the cached key
+        QuizReferenceDTO quiz = new QuizReferenceDTO(key.getQuizId(), key.getQuizTitle(), key.getMaxMarks());
+        Map<Long, QuestionDeliveryDTO> byId = new HashMap<>(count * 2);
+        for (QuestionDeliveryDTO question : questionRepository.findDeliveryByQuesIdIn(ids)) {
+            question.setQuiz(quiz);
+            if (withAnswers) {
+                question.setAnswer(key.getAnswer(question.getQuesId()));
+            }
+            byId.put(question.getQuesId(), question);
+        }
+        List<QuestionDeliveryDTO> paper = new ArrayList<>(count);
+        for (Long id : ids) {
+            // A question deleted since the ids were cached is simply skipped
+            QuestionDeliveryDTO question = byId.get(id);
+            if (question != null) {
+                paper.add(question);
+            }
+        }
+        return paper;
+    }
+
+    /**
+     * Partial Fisher&ndash;Yates shuffle over the positions {@code 0..bankSize-1}. Untouched
+     * positions hold their own index, so only the swapped ones are stored.
+     */
+    static int[] drawPositions(int bankSize, int count, Long seed) {
+        IntUnaryOperator nextInt;
+        if (seed != null) {
+            SplittableRandom random = new SplittableRandom(seed);
+            nextInt = random::nextInt;
+        } else {
+            nextInt = bound -> ThreadLocalRandom.current().nextInt(bound);
+        }
+
+        Map<Integer, Integer> swapped = new HashMap<>(count * 2);
+        int[] positions = new int[count];
+        for (int i = 0; i < count; i++) {
+            int j = i + nextInt.applyAsInt(bankSize - i);
+            int atJ = swapped.getOrDefault(j, j);
+            int atI = swapped.getOrDefault(i, i);
+            positions[i] = atJ;
+            swapped.put(j, atI);
+        }
+        return positions;
+    }
+
+    // SplitMix64 finalizer, spreads nearby ids over the whole seed space
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
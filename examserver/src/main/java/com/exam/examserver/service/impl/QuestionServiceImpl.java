@@ -11,9 +11,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.exam.examserver.cache.AnswerKeyCache;
 import com.exam.examserver.model.exam.question.Question;
 import com.exam.examserver.model.exam.quiz.Quiz;
 import com.exam.examserver.repository.QuestionRepository;
+import com.exam.examserver.search.SearchIndex;
 import com.exam.examserver.service.IQuestionService;
 
 /**
@@ -27,6 +29,10 @@ public class QuestionServiceImpl implements IQuestionService {
 
     @Autowired
     private QuestionRepository questionRepository;
+    @Autowired
+    private AnswerKeyCache answerKeyCache;
+    @Autowired
+    private SearchIndex searchIndex;
 
     /**
      * Adds a new question.
@@ -38,7 +44,10 @@ public class QuestionServiceImpl implements IQuestionService {
     @Transactional()
     public Question addQuestion(Question question) {
         LOGGER.info("Adding new question: {}", question.getContent());
-        return questionRepository.save(question);
+        answerKeyCache.evict(quizIdOf(question));
+        Question saved = questionRepository.save(question);
+        searchIndex.indexQuestion(saved);
+        return saved;
     }
 
     /**
@@ -51,11 +60,16 @@ public class QuestionServiceImpl implements IQuestionService {
     @Transactional()
     public Question updateQuestion(Question question) {
         LOGGER.info("Updating question with ID: {}", question.getQuesId());
-        if (!questionRepository.existsById(question.getQuesId())) {
+        Question existing = questionRepository.findById(question.getQuesId()).orElseThrow(() -> {
             LOGGER.warn("Question with ID {} does not exist. Cannot update.", question.getQuesId());
-            throw new IllegalArgumentException("Question not found with ID: " + question.getQuesId());
-        }
-        return questionRepository.save(question);
+            return new IllegalArgumentException("Question not found with ID: " + question.getQuesId());
+        });
+        // The question may have been moved to another quiz
+        answerKeyCache.evict(quizIdOf(existing));
+        answerKeyCache.evict(quizIdOf(question));
+        Question saved = questionRepository.save(question);
+        searchIndex.indexQuestion(saved);
+        return saved;
     }
 
     /**
@@ -101,11 +115,13 @@ public class QuestionServiceImpl implements IQuestionService {
     @Transactional()
     public void deleteQuestion(Long questionId) {
         LOGGER.info("Deleting question with ID: {}", questionId);
-        if (!questionRepository.existsById(questionId)) {
+        Question existing = questionRepository.findById(questionId).orElseThrow(() -> {
             LOGGER.warn("Question with ID {} does not exist. Cannot delete.", questionId);
-            throw new IllegalArgumentException("Question not found with ID: " + questionId);
-        }
+            return new IllegalArgumentException("Question not found with ID: " + questionId);
+        });
+        answerKeyCache.evict(quizIdOf(existing));
         questionRepository.deleteById(questionId);
+        searchIndex.removeQuestion(questionId);
         LOGGER.info("Question with ID {} deleted successfully", questionId);
     }
     
@@ -142,8 +158,24 @@ public class QuestionServiceImpl implements IQuestionService {
             return List.of();
         }
         LOGGER.info("Saving {} questions", questions.size());
+        questions.stream().map(QuestionServiceImpl::quizIdOf).distinct().forEach(answerKeyCache::evict);
+        // Existing questions may be moving out of another quiz, whose key would keep their answers
+        Set<Long> existingIds = new LinkedHashSet<>();
+        for (Question question : questions) {
+            if (question.getQuesId() != null) {
+                existingIds.add(question.getQuesId());
+            }
+        }
+        if (!existingIds.isEmpty()) {
+            questionRepository.findQuizIdsByQuesIdIn(existingIds).forEach(answerKeyCache::evict);
+        }
         List<Question> savedQuestions = questionRepository.saveAll(questions);
+        savedQuestions.forEach(searchIndex::indexQuestion);
         LOGGER.info("Saved {} questions successfully", savedQuestions.size());
         return savedQuestions;
     }
-}
\ No newline at end of file
+
+    private static Long quizIdOf(Question question) {
+        return question.getQuiz() != null ? question.getQuiz().getqId() : null;
+    }
+}
@@ -49,6 +49,28 @@ public class QuizAttemptServiceImpl implements IQuizAttemptService{
         }
     }
 
+    /**
+     * Saves several quiz attempts, with their question attempts, in one call.
+     *
+     * <p>Used by the attempt history pipeline to group the attempts of many users
+     * into batched inserts.</p>
+     *
+     * @param attempts the {@link QuizAttempt} entities to persist
+     * @return the persisted {@link QuizAttempt} entities
+     */
+    @Override
+    public List<QuizAttempt> saveAttempts(List<QuizAttempt> attempts) {
+        try {
+            LOGGER.info("Saving {} quiz attempts", attempts.size());
+            List<QuizAttempt> saved = repo.saveAll(attempts);
+            LOGGER.debug("Saved {} quiz attempts successfully", saved.size());
+            return saved;
+        } catch (Exception ex) {
+            LOGGER.error("Error saving {} quiz attempts: {}", attempts.size(), ex.getMessage(), ex);
+            throw ex;
+        }
+    }
+
     /**
      * Retrieves the last 10 quiz attempts made by the specified user.
      *
@@ -1,6 +1,5 @@
 package com.exam.examserver.service.impl;
 
-import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
@@ -10,18 +9,25 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.exam.examserver.cache.AnswerKeyCache;
+import com.exam.examserver.cache.CategoryQuizCountCache;
+import com.exam.examserver.model.dto.CursorPageDTO;
+import com.exam.examserver.model.dto.QuizSummaryDTO;
+import com.exam.examserver.search.SearchIndex;
 import com.exam.examserver.model.exam.question.Question;
 import com.exam.examserver.model.exam.quiz.Quiz;
+import com.exam.examserver.pagination.KeysetCursor;
 import com.exam.examserver.repository.QuestionRepository;
 import com.exam.examserver.repository.QuizRepository;
 import com.exam.examserver.service.IQuizService;
+import com.exam.examserver.service.ISearchService;
 
 /**
  * Implementation of the Quiz service.
@@ -32,10 +38,21 @@ public class QuizServiceImpl implements IQuizService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(QuizServiceImpl.class);
 
+    private static final String QUIZ_CURSOR = "quiz";
+    private static final String QUESTION_CURSOR = "question";
+
     @Autowired
     private QuizRepository quizRepository;
     @Autowired
     private QuestionRepository questionRepository;
+    @Autowired
+    private AnswerKeyCache answerKeyCache;
+    @Autowired
+    private CategoryQuizCountCache categoryQuizCountCache;
+    @Autowired
+    private ISearchService searchService;
+    @Autowired
+    private SearchIndex searchIndex;
 
     /**
      * Adds a new quiz.
@@ -47,7 +64,10 @@ public class QuizServiceImpl implements IQuizService {
     @Transactional
     public Quiz addQuiz(Quiz quiz) {
         LOGGER.info("Adding new quiz: {}", quiz.getTitle());
-        return quizRepository.save(quiz);
+        categoryQuizCountCache.evict();
+        Quiz saved = quizRepository.save(quiz);
+        searchIndex.indexQuiz(saved);
+        return saved;
     }
 
     /**
@@ -64,7 +84,13 @@ public class QuizServiceImpl implements IQuizService {
             LOGGER.warn("Quiz with ID {} does not exist. Cannot update.", quiz.getqId());
             throw new IllegalArgumentException("Quiz not found with ID: " + quiz.getqId());
         }
-        return quizRepository.save(quiz);
+        // Title and max marks are part of the cached answer key
+        answerKeyCache.evict(quiz.getqId());
+        // Category and active flag are part of the per-category counts
+        categoryQuizCountCache.evict();
+        Quiz saved = quizRepository.save(quiz);
+        searchIndex.indexQuiz(saved);
+        return saved;
     }
 
     /**
@@ -79,6 +105,34 @@ public class QuizServiceImpl implements IQuizService {
         return new LinkedHashSet<>(quizRepository.findAll());
     }
 
+    /**
+     * Retrieves all quizzes as list rows, ordered by title.
+     *
+     * <p>Reads only the quiz and category columns into {@link QuizSummaryDTO}s, without
+     * managed entities, so listing every quiz costs one select.</p>
+     *
+     * @return every quiz with its category
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<QuizSummaryDTO> getQuizSummaries() {
+        LOGGER.info("Fetching all quiz summaries");
+        return quizRepository.findAllSummaries();
+    }
+
+    /**
+     * Retrieves the active quizzes of a category as list rows, ordered by title.
+     *
+     * @param categoryId the ID of the category
+     * @return the category's active quizzes; empty for an unknown category
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<QuizSummaryDTO> getActiveQuizSummariesByCategory(Long categoryId) {
+        LOGGER.info("Fetching active quiz summaries of category {}", categoryId);
+        return quizRepository.findActiveSummariesByCategoryId(categoryId);
+    }
+
     /**
      * Retrieves a quiz by its ID.
      *
@@ -122,6 +176,9 @@ public class QuizServiceImpl implements IQuizService {
         }
 
         quizRepository.delete(quiz);
+        answerKeyCache.evict(quizId);
+        categoryQuizCountCache.evict();
+        searchIndex.removeQuiz(quizId);
         LOGGER.info("Quiz with ID {} deleted successfully", quizId);
     }
     
@@ -155,8 +212,10 @@ public class QuizServiceImpl implements IQuizService {
     /**
      * Retrieves paginated questions for a specific quiz.
      *
-     * <p>This method first verifies that the quiz exists. Then, it retrieves the questions
-     * associated with that quiz using pagination and sorting (by question ID ascending).</p>
+     * <p>This method first verifies that the quiz exists. Then, it retrieves the requested page of
+     * the quiz's questions from the database, ordered by question ID ascending so pages are stable,
+     * plus one count query for the totals. Every question of the bank is reachable; the number of
+     * questions students get is capped separately, when papers are drawn.</p>
      *
      * @param qid  the ID of the quiz
      * @param page the zero-based page index (0 = first page)
@@ -168,69 +227,148 @@ public class QuizServiceImpl implements IQuizService {
     @Transactional(readOnly = true)
     public Page<Question> getQuestionsByQuizPaged(Long qid, int page, int size) {
         LOGGER.info("Fetching paginated questions for quiz ID {} (page {}, size {})", qid, page, size);
+        requireQuiz(qid);
 
-        // Verificar que el quiz existe
-        Quiz quiz = quizRepository.findById(qid)
-                .orElseThrow(() -> new IllegalArgumentException("Quiz not found with ID: " + qid));
+        Page<Question> questionsPage = questionRepository.findByQuiz_qId(qid, questionPage(page, size));
 
-        // limit total size to 20
-        int maxTotalQuestions = 20;
-
-        List<Question> questionsList = questionRepository.findByQuiz_qId(quiz.getqId());
-        if (questionsList.size() > maxTotalQuestions) {
-            questionsList = questionsList.subList(0, maxTotalQuestions);
-        }
-
-        // Crate limited list
-        int start = Math.min(page * size, questionsList.size());
-        int end = Math.min(start + size, questionsList.size());
-        List<Question> pagedList = questionsList.subList(start, end);
-       
-
-        // pagination
-        Page<Question> questionsPage = new PageImpl<>(pagedList, PageRequest.of(page, size), questionsList.size());
-
-        LOGGER.info("Fetched {} questions (page {} of {}) for quiz '{}'",
+        LOGGER.info("Fetched {} questions (page {} of {}) for quiz ID {}",
                 questionsPage.getNumberOfElements(),
                 questionsPage.getNumber() + 1,
                 questionsPage.getTotalPages(),
-                quiz.getTitle());
+                qid);
 
         return questionsPage;
     }
-    
+
+    /**
+     * Retrieves a page of questions of a quiz without counting them.
+     *
+     * <p>Same order as {@link #getQuestionsByQuizPaged(Long, int, int)}, but returns a
+     * {@link Slice}, which reads one extra row to know whether a next page exists instead
+     * of counting the whole bank.</p>
+     *
+     * @param qid  the ID of the quiz
+     * @param page the zero-based page index (0 = first page)
+     * @param size the number of questions per page
+     * @return a {@link Slice} of the quiz's questions, ordered by question ID
+     * @throws IllegalArgumentException if the quiz does not exist
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<Question> getQuestionsByQuizSlice(Long qid, int page, int size) {
+        LOGGER.info("Fetching questions for quiz ID {} without count (page {}, size {})", qid, page, size);
+        requireQuiz(qid);
+        return questionRepository.findSliceByQuiz_qId(qid, questionPage(page, size));
+    }
+
+    private void requireQuiz(Long qid) {
+        if (!quizRepository.existsById(qid)) {
+            throw new IllegalArgumentException("Quiz not found with ID: " + qid);
+        }
+    }
+
+    private static Pageable questionPage(int page, int size) {
+        return PageRequest.of(page, size, Sort.by(Sort.Direction.ASC, "quesId"));
+    }
+
     /**
      * Searches quizzes by a given term and returns a paginated result.
      * <p>
-     * The search is performed using the repository method to fetch quizzes matching the term. 
-     * Results are then sorted alphabetically by title and paginated manually according to the requested page and size.
+     * Runs through {@link ISearchService}: with the default {@code like} search mode, filtering,
+     * sorting by title and paging all happen in the database, so only the requested page of
+     * quizzes is loaded, plus one count query for the total. In {@code index} mode the results
+     * are ranked by relevance instead.
      * </p>
      *
      * @param term the search term to filter quizzes by title or other relevant fields
      * @param page the page number to retrieve (0-based)
      * @param size the number of quizzes per page
+     * @param active optional filter for active or inactive quizzes
      * @return a Page of {@link Quiz} containing the paginated search results
      */
     @Override
     @Transactional(readOnly = true)
     public Page<Quiz> searchQuizzesPaged(String term, int page, int size, Boolean active) {
         LOGGER.info("Searching quizzes paginated by term '{}' (page {}, size {})", term, page, size);
-        List<Quiz> results = new ArrayList<>();
-        if(null == active) {
-        	results = quizRepository.searchQuizzes(term);
-        } else {
-        	results = quizRepository.searchQuizzesByActive(term, active);
-        }
+        return searchService.searchQuizzes(term, null, active, searchPage(page, size));
+    }
 
-        // Ordenar por título alfabéticamente
-        results.sort((a, b) -> a.getTitle().compareToIgnoreCase(b.getTitle()));
+    /**
+     * Searches quizzes without counting the total matches.
+     * <p>
+     * Returns a {@link Slice}, which only knows whether a next page exists. This skips the
+     * count query, whose cost grows with the number of matches rather than the page size.
+     * </p>
+     *
+     * @param term optional search term; {@code null} matches every quiz
+     * @param categoryId optional category filter
+     * @param page the page number to retrieve (0-based)
+     * @param size the number of quizzes per page
+     * @param active optional filter for active or inactive quizzes
+     * @return a {@link Slice} of quizzes sorted by title
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<Quiz> searchQuizzesSlice(String term, Long categoryId, int page, int size, Boolean active) {
+        LOGGER.info("Searching quizzes by term '{}' in category {} without count (page {}, size {})",
+                term, categoryId, page, size);
+        return searchService.searchQuizzesSlice(term, categoryId, active, searchPage(page, size));
+    }
 
-        // Calcular paginación manual
-        int start = Math.min(page * size, results.size());
-        int end = Math.min(start + size, results.size());
-        List<Quiz> paged = results.subList(start, end);
+    /**
+     * Retrieves the quizzes after a cursor, ordered by title, without counting them.
+     * <p>
+     * The page starts after the title and id of the last quiz of the previous page, so the
+     * database seeks to it in a (title, id) index instead of skipping every earlier row, and
+     * quizzes inserted meanwhile do not shift the pages. The term, if any, is matched like
+     * the {@code like} search mode, whatever the configured mode, since relevance order
+     * cannot be resumed from a title.
+     * </p>
+     *
+     * @param term optional search term; {@code null} matches every quiz
+     * @param categoryId optional category filter
+     * @param active optional filter for active or inactive quizzes
+     * @param after the {@code next} token of the previous page; {@code null} or blank for the first page
+     * @param size the number of quizzes per page
+     * @return the page, with the token of the next one
+     * @throws IllegalArgumentException if the token is invalid
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<Quiz> getQuizzesAfter(String term, Long categoryId, Boolean active, String after, int size) {
+        KeysetCursor cursor = KeysetCursor.decode(QUIZ_CURSOR, after);
+        LOGGER.info("Fetching quizzes after cursor (search '{}', category {}, size {})", term, categoryId, size);
+        return KeysetCursor.page(
+                quizRepository.searchAfter(term, categoryId, active, cursor != null ? cursor.getTitle() : null,
+                        cursor != null ? cursor.getId() : null, PageRequest.of(0, size)),
+                quiz -> KeysetCursor.of(QUIZ_CURSOR, quiz.getTitle(), quiz.getqId()));
+    }
 
-        return new PageImpl<>(paged, PageRequest.of(page, size), results.size());
+    /**
+     * Retrieves the questions of a quiz after a cursor, ordered by id, without counting them.
+     *
+     * @param qid the ID of the quiz
+     * @param term optional search term, matched against the content, options and answer
+     * @param after the {@code next} token of the previous page; {@code null} or blank for the first page
+     * @param size the number of questions per page
+     * @return the page, with the token of the next one
+     * @throws IllegalArgumentException if the token is invalid
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<Question> getQuestionsByQuizAfter(Long qid, String term, String after, int size) {
+        KeysetCursor cursor = KeysetCursor.decode(QUESTION_CURSOR, after);
+        LOGGER.info("Fetching questions of quiz {} after cursor (search '{}', size {})", qid, term, size);
+        return KeysetCursor.page(
+                questionRepository.searchAfter(qid, term, cursor != null ? cursor.getId() : null, PageRequest.of(0, size)),
+                question -> KeysetCursor.of(QUESTION_CURSOR, null, question.getQuesId()));
+    }
+
+    /**
+     * Sorts by title, then by id so quizzes sharing a title keep a stable order across pages.
+     */
+    private static Pageable searchPage(int page, int size) {
+        return PageRequest.of(page, size, Sort.by(Sort.Order.asc("title"), Sort.Order.asc("qId")));
     }
 
     /**
@@ -252,7 +390,7 @@ public class QuizServiceImpl implements IQuizService {
     public Page<Question> searchQuestionsByQuizPaged(Long qid, String term, int page, int size) {
         LOGGER.info("Searching questions for quiz ID {} with term '{}' (page {}, size {})", qid, term, page, size);
         Pageable pageable = PageRequest.of(page, size);
-        Page<Question> result = questionRepository.searchQuestionsByQuiz(qid, term, pageable);
+        Page<Question> result = searchService.searchQuestions(qid, term, pageable);
         LOGGER.info("Search returned {} questions out of total {}", result.getNumberOfElements(), result.getTotalElements());
         return result;
     }
@@ -261,30 +399,20 @@ public class QuizServiceImpl implements IQuizService {
      * Searches quizzes within a specific category by a given search term and returns a paginated result.
      * <p>
      * The search includes matching the term against the quiz's title, description, max marks, or number of questions.
-     * The results are sorted alphabetically by title and manually paginated according to the requested page and size.
+     * Filtering, including the optional active flag, sorting and paging follow the search mode of {@link ISearchService}.
      * 
      * @param categoryId the ID of the category to filter quizzes
      * @param term the search term to filter quizzes within the category
      * @param page the page number to retrieve (0-based)
      * @param size the number of quizzes per page
+     * @param active optional filter for active or inactive quizzes
      * @return a {@link Page} of {@link Quiz} containing the quizzes that match the search term within the specified category
      */
 	@Override
     @Transactional(readOnly = true)
 	public Page<Quiz> searchQuizByCategoryPaged(Long categoryId, String term, int page, int size, Boolean active) {
-		LOGGER.info("Searching quizzes paginated by term '{}' (page {}, size {})", term, page, size);
-
-        List<Quiz> results = quizRepository.searchQuizByCategory(categoryId, term);
-
-        // Ordenar por título alfabéticamente
-        results.sort((a, b) -> a.getTitle().compareToIgnoreCase(b.getTitle()));
-
-        // Calcular paginación manual
-        int start = Math.min(page * size, results.size());
-        int end = Math.min(start + size, results.size());
-        List<Quiz> paged = results.subList(start, end);
-
-        return new PageImpl<>(paged, PageRequest.of(page, size), results.size());
+		LOGGER.info("Searching quizzes paginated by term '{}' in category {} (page {}, size {})", term, categoryId, page, size);
+		return searchService.searchQuizzes(term, categoryId, active, searchPage(page, size));
 	}
 	
 	/**
@@ -0,0 +1,84 @@
+package com.exam.examserver.service.impl;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.exam.examserver.model.exam.category.Category;
+import com.exam.examserver.model.exam.question.Question;
+import com.exam.examserver.model.exam.quiz.Quiz;
+import com.exam.examserver.search.LikeSearchStrategy;
+import com.exam.examserver.search.SearchStrategy;
+import com.exam.examserver.service.ISearchService;
+
+/**
+ * Runs text searches with the {@link SearchStrategy} selected by {@code exam.search.mode}.
+ *
+ * <p>While the selected strategy is unavailable (for instance while its index is being
+ * built) and for listings without a search term, the {@code like} strategy is used.</p>
+ */
+@Service
+public class SearchServiceImpl implements ISearchService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SearchServiceImpl.class);
+
+    private final SearchStrategy selected;
+    private final SearchStrategy fallback;
+
+    public SearchServiceImpl(List<SearchStrategy> strategies, @Value("${exam.search.mode:like}") String mode) {
+        SearchStrategy like = null;
+        SearchStrategy match = null;
+        for (SearchStrategy strategy : strategies) {
+            if (LikeSearchStrategy.NAME.equals(strategy.getName())) {
+                like = strategy;
+            }
+            if (strategy.getName().equalsIgnoreCase(mode)) {
+                match = strategy;
+            }
+        }
+        if (match == null) {
+            throw new IllegalArgumentException("Unknown exam.search.mode: " + mode);
+        }
+        this.selected = match;
+        this.fallback = like;
+        LOGGER.info("Search mode: {}", selected.getName());
+    }
+
+    private SearchStrategy strategy(String term) {
+        if (term == null || term.isBlank() || !selected.isAvailable()) {
+            return fallback;
+        }
+        return selected;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Quiz> searchQuizzes(String term, Long categoryId, Boolean active, Pageable pageable) {
+        return strategy(term).searchQuizzes(term, categoryId, active, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<Quiz> searchQuizzesSlice(String term, Long categoryId, Boolean active, Pageable pageable) {
+        return strategy(term).searchQuizzesSlice(term, categoryId, active, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Category> searchCategories(String term, Pageable pageable) {
+        return strategy(term).searchCategories(term, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Question> searchQuestions(Long quizId, String term, Pageable pageable) {
+        return strategy(term).searchQuestions(quizId, term, pageable);
+    }
+}
@@ -10,6 +10,8 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import com.exam.examserver.cache.UserDetailsCache;
+import com.exam.examserver.cache.UserSnapshot;
 import com.exam.examserver.model.user.User;
 import com.exam.examserver.repository.UserRepository;
 
@@ -20,10 +22,16 @@ public class UserDetailServiceImpl implements UserDetailsService{
 
 	@Autowired
 	private UserRepository userRepository;
+	@Autowired
+	private UserDetailsCache userDetailsCache;
 	
 
 	/**
 	 * Loads a user by username for authentication.
+	 * <p>
+	 * Users are served from the {@link UserDetailsCache}; the returned object is a detached
+	 * copy, never the managed entity, so changing it has no effect on the database or the cache.
+	 * </p>
 	 *
 	 * @param username the username identifying the user whose data is required.
 	 * @return UserDetails object containing user information.
@@ -31,16 +39,23 @@ public class UserDetailServiceImpl implements UserDetailsService{
 	 */
 	@Override
 	public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-	    User user = this.userRepository.findByUsername(username);
+	    UserSnapshot snapshot = this.userDetailsCache.get(username, this::loadSnapshot);
 
-	    if (Objects.isNull(user)) {
+	    if (Objects.isNull(snapshot)) {
 	        LOGGER.warn("User not found for username '{}'", username);
 	        throw new UsernameNotFoundException("User not found with username: " + username);
 	    }
 
-	    LOGGER.info("User '{}' successfully loaded", username);
+	    return snapshot.toUser();
+	}
 
-	    return user;
+	private UserSnapshot loadSnapshot(String username) {
+	    User user = this.userRepository.findByUsername(username);
+	    if (Objects.isNull(user)) {
+	        return null;
+	    }
+	    LOGGER.info("User '{}' successfully loaded", username);
+	    return UserSnapshot.of(user);
 	}
 
 }
@@ -14,6 +14,8 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.exam.examserver.cache.UserDetailsCache;
+import com.exam.examserver.config.SecurityEpochRegistry;
 import com.exam.examserver.files.IFileService;
 import com.exam.examserver.model.role.Role;
 import com.exam.examserver.model.user.User;
@@ -35,6 +37,10 @@ public class UserServiceImpl implements IUserService{
 	private BCryptPasswordEncoder passwordEncoder;
 	@Autowired
 	private IFileService fileService;
+	@Autowired
+	private SecurityEpochRegistry securityEpochRegistry;
+	@Autowired
+	private UserDetailsCache userDetailsCache;
 	
 	private static final Logger LOGGER = LoggerFactory.getLogger(UserServiceImpl.class);
 
@@ -77,6 +83,7 @@ public class UserServiceImpl implements IUserService{
 
 	    // Save the user
 	    User savedUser = this.userRepository.save(user);
+	    userDetailsCache.evictUsername(savedUser.getUsername());
 	    LOGGER.info("User '{}' created successfully with {} roles", 
 	                user.getUsername(), 
 	                userRoles != null ? userRoles.size() : 0);
@@ -198,7 +205,9 @@ public class UserServiceImpl implements IUserService{
 	public void deleteUser(Long userId) {
 	    LOGGER.info("Attempting to delete user with ID '{}'", userId);
 
+	    // Tokens already issued to the user stop working: the user can no longer be loaded
 	    this.userRepository.deleteById(userId);
+	    userDetailsCache.evictUser(userId);
 
 	    LOGGER.info("User with ID '{}' has been deleted", userId);
 	}
@@ -246,9 +255,11 @@ public class UserServiceImpl implements IUserService{
 	    if (existingUser.isEnabled() != updatedUser.isEnabled()) {
 	        LOGGER.info("Updating enabled status: '{}' -> '{}'", existingUser.isEnabled(), updatedUser.isEnabled());
 	        existingUser.setEnabled(updatedUser.isEnabled());
+	        securityEpochRegistry.bump(existingUser);
 	    }
 
 	    User savedUser = userRepository.save(existingUser);
+	    userDetailsCache.evictUser(userId);
 	    LOGGER.info("User with ID {} updated successfully", userId);
 	    return savedUser;
 	}
@@ -290,21 +301,47 @@ public class UserServiceImpl implements IUserService{
 
 	    String encodedPassword = passwordEncoder.encode(newPassword);
 	    existingUser.setPassword(encodedPassword);
+	    securityEpochRegistry.bump(existingUser);
 
 	    userRepository.save(existingUser);
+	    userDetailsCache.evictUser(userId);
 
 	    LOGGER.info("Password successfully updated for userId={}", userId);
 	}
 
+	/**
+	 * Replaces the stored hash of an unchanged password, e.g. with one of a higher BCrypt cost.
+	 * <p>
+	 * Unlike {@link #updatePassword(Long, String)} the password itself does not change, so
+	 * tokens already issued to the user stay valid.
+	 * </p>
+	 *
+	 * @param userId          the ID of the user
+	 * @param encodedPassword the new hash of the user's current password
+	 */
+	@Override
+	@Transactional
+	public void upgradePasswordHash(Long userId, String encodedPassword) {
+	    userRepository.findById(userId).ifPresent(user -> {
+	        user.setPassword(encodedPassword);
+	        userRepository.save(user);
+	        userDetailsCache.evictUser(userId);
+	        LOGGER.info("Password hash upgraded for userId={}", userId);
+	    });
+	}
+
 	@Override
 	@Transactional
 	public String updateProfilePicture(Long userId, MultipartFile file) {
-	    return this.fileService.updateProfileLocal(userId, file);
+	    String profile = this.fileService.updateProfileLocal(userId, file);
+	    userDetailsCache.evictUser(userId);
+	    return profile;
 	}
 
 	@Override
 	public void deleteProfilePicture(Long userId) {
 		this.fileService.deleteProfileLocal(userId);
+		userDetailsCache.evictUser(userId);
 	}
 
 }
@@ -0,0 +1,109 @@
+package com.exam.examserver.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.exam.examserver.model.exam.category.Category;
+import com.exam.examserver.model.exam.quiz.Quiz;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Loading the quiz counts costs one statement and no entity, however many categories and
+ * quizzes exist. Each test runs in a transaction that is rolled back.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class CategoryQuizCountCacheTest {
+
+	@Autowired
+	private CategoryQuizCountCache cache;
+	@Autowired
+	private EntityManager entityManager;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void queryCountDoesNotGrowWithTheCatalog() {
+		createCatalog(2, 3);
+		long smallCatalogStatements = countLoadStatements();
+
+		createCatalog(40, 25);
+		long largeCatalogStatements = countLoadStatements();
+
+		assertEquals(1, smallCatalogStatements);
+		assertEquals(smallCatalogStatements, largeCatalogStatements);
+	}
+
+	@Test
+	void countsTotalAndActiveQuizzesWithoutLoadingThem() {
+		Category category = createCatalog(1, 5).get(0);
+
+		cache.evict();
+		statistics.clear();
+		CategoryQuizCountCache.Entry entry = cache.get().stream()
+				.filter(e -> e.getCategoryId().equals(category.getCid()))
+				.findFirst()
+				.orElseThrow();
+
+		assertEquals(5, entry.getQuizCount());
+		// createCatalog activates every other quiz: 0, 2 and 4
+		assertEquals(3, entry.getActiveQuizCount());
+		assertEquals(0, statistics.getEntityLoadCount());
+		assertEquals(0, statistics.getCollectionLoadCount());
+	}
+
+	@Test
+	void servesRepeatedReadsFromTheSnapshot() {
+		cache.evict();
+		cache.get();
+		statistics.clear();
+
+		cache.get();
+		cache.get();
+
+		assertEquals(0, statistics.getPrepareStatementCount());
+	}
+
+	private long countLoadStatements() {
+		cache.evict();
+		statistics.clear();
+		cache.get();
+		return statistics.getPrepareStatementCount();
+	}
+
+	private List<Category> createCatalog(int categories, int quizzesPerCategory) {
+		List<Category> created = new ArrayList<>(categories);
+		for (int c = 0; c < categories; c++) {
+			Category category = new Category(null, "Count test category " + c, "Scratch category");
+			entityManager.persist(category);
+			for (int q = 0; q < quizzesPerCategory; q++) {
+				Quiz quiz = new Quiz(null, "Count test quiz " + q, "Scratch quiz", 10, 5, q % 2 == 0);
+				quiz.setCategory(category);
+				entityManager.persist(quiz);
+			}
+			created.add(category);
+		}
+		entityManager.flush();
+		entityManager.clear();
+		return created;
+	}
+}
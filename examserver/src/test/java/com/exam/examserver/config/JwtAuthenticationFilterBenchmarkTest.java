@@ -0,0 +1,55 @@
+package com.exam.examserver.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.servlet.FilterChain;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Per-request cost of {@link JwtAuthenticationFilter} for requests that carry no token.
+ *
+ * <p>A plain loop with a warm-up rather than a harness, so the numbers are indicative only.
+ * Runs with {@code -Dexam.benchmarks=true}. No token service or user store is wired in: a
+ * request that reached token verification would fail the benchmark.</p>
+ */
+@EnabledIfSystemProperty(named = "exam.benchmarks", matches = "true")
+class JwtAuthenticationFilterBenchmarkTest {
+
+	private static final int WARM_UP = 200_000;
+	private static final int ITERATIONS = 2_000_000;
+
+	@Test
+	void filterOverheadPerRequest() throws Exception {
+		JwtAuthenticationFilter filter = new JwtAuthenticationFilter(20, 60_000);
+		ReflectionTestUtils.setField(filter, "publicRoutes", new PublicRoutes());
+
+		report(filter, "static image", new MockHttpServletRequest("GET", "/images/quiz/42.png"));
+		report(filter, "CORS preflight", new MockHttpServletRequest("OPTIONS", "/quiz/active"));
+		report(filter, "anonymous API call", new MockHttpServletRequest("GET", "/quiz/active"));
+	}
+
+	private static void report(JwtAuthenticationFilter filter, String label, MockHttpServletRequest request) throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		AtomicLong passed = new AtomicLong();
+		FilterChain chain = (req, res) -> passed.incrementAndGet();
+
+		for (int i = 0; i < WARM_UP; i++) {
+			filter.doFilter(request, response, chain);
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			filter.doFilter(request, response, chain);
+		}
+		long elapsedNanos = System.nanoTime() - start;
+
+		assertEquals(WARM_UP + ITERATIONS, passed.get());
+		System.out.printf("%-20s %6.1f ns/request%n", label, (double) elapsedNanos / ITERATIONS);
+	}
+}
@@ -0,0 +1,63 @@
+package com.exam.examserver.config;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+class PublicRoutesTest {
+
+	private final PublicRoutes publicRoutes = new PublicRoutes();
+
+	@Test
+	void exactPathsMatchOnlyThemselves() {
+		assertTrue(publicRoutes.isTokenless(request("POST", "/generate-token")));
+		assertTrue(publicRoutes.isTokenless(request("GET", "/v3/api-docs")));
+		assertFalse(publicRoutes.isTokenless(request("POST", "/generate-token/extra")));
+		assertFalse(publicRoutes.isTokenless(request("POST", "/generate-tokens")));
+		assertFalse(publicRoutes.isTokenless(request("GET", "/swagger-ui.htm")));
+	}
+
+	@Test
+	void prefixPatternsMatchTheirBaseAndEverythingBelow() {
+		assertTrue(publicRoutes.isTokenless(request("GET", "/images")));
+		assertTrue(publicRoutes.isTokenless(request("GET", "/images/")));
+		assertTrue(publicRoutes.isTokenless(request("GET", "/images/quiz/1.png")));
+		assertTrue(publicRoutes.isTokenless(request("GET", "/v3/api-docs/swagger-config")));
+		assertFalse(publicRoutes.isTokenless(request("GET", "/imagesX/1.png")));
+		assertFalse(publicRoutes.isTokenless(request("GET", "/quiz/images/1.png")));
+	}
+
+	@Test
+	void protectedPathsNeedAToken() {
+		assertFalse(publicRoutes.isTokenless(request("GET", "/")));
+		assertFalse(publicRoutes.isTokenless(request("GET", "/quiz/")));
+		assertFalse(publicRoutes.isTokenless(request("POST", "/question/eval-quiz")));
+	}
+
+	@Test
+	void contextPathIsIgnored() {
+		assertTrue(publicRoutes.isTokenless(request("/exam", "GET", "/exam/images/1.png")));
+		assertTrue(publicRoutes.isTokenless(request("/exam", "POST", "/exam/generate-token")));
+		assertFalse(publicRoutes.isTokenless(request("/exam", "GET", "/exam/quiz/")));
+		// Without the context path stripped, "/exam/images" would not be a public route
+		assertFalse(publicRoutes.isTokenless(request("GET", "/exam/images/1.png")));
+	}
+
+	@Test
+	void preflightsAreAlwaysTokenless() {
+		assertTrue(publicRoutes.isTokenless(request("OPTIONS", "/quiz/")));
+		assertTrue(publicRoutes.isTokenless(request("/exam", "OPTIONS", "/exam/question/eval-quiz")));
+	}
+
+	private static MockHttpServletRequest request(String method, String uri) {
+		return request("", method, uri);
+	}
+
+	private static MockHttpServletRequest request(String contextPath, String method, String uri) {
+		MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+		request.setContextPath(contextPath);
+		return request;
+	}
+}
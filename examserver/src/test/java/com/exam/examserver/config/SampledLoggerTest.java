@@ -0,0 +1,88 @@
+package com.exam.examserver.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+
+class SampledLoggerTest {
+
+	private static final long WINDOW_MS = 1000;
+
+	private final AtomicLong now = new AtomicLong(1_000_000);
+	private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+	private Logger logger;
+	private SampledLogger sampledLogger;
+
+	@BeforeEach
+	void setUp() {
+		logger = (Logger) LoggerFactory.getLogger(SampledLoggerTest.class);
+		logger.setLevel(Level.WARN);
+		appender.start();
+		logger.addAppender(appender);
+		sampledLogger = new SampledLogger(logger, 2, WINDOW_MS, now::get);
+	}
+
+	@AfterEach
+	void tearDown() {
+		logger.detachAppender(appender);
+		logger.setLevel(null);
+	}
+
+	@Test
+	void logsUpToTheBudgetOfAWindow() {
+		for (int i = 0; i < 5; i++) {
+			sampledLogger.warn("warning {}", i);
+		}
+
+		assertEquals(List.of("warning 0", "warning 1"), messages());
+	}
+
+	@Test
+	void reportsSuppressedCountWhenTheWindowRollsOver() {
+		for (int i = 0; i < 5; i++) {
+			sampledLogger.warn("warning {}", i);
+		}
+		now.addAndGet(WINDOW_MS);
+		sampledLogger.warn("warning {}", 5);
+		sampledLogger.warn("warning {}", 6);
+		sampledLogger.warn("warning {}", 7);
+
+		assertEquals(List.of("warning 0", "warning 1",
+				"3 similar security warnings suppressed in the last 1000 ms",
+				"warning 5", "warning 6"), messages());
+	}
+
+	@Test
+	void staysInTheWindowUntilItHasElapsed() {
+		sampledLogger.warn("warning {}", 0);
+		sampledLogger.warn("warning {}", 1);
+		now.addAndGet(WINDOW_MS - 1);
+		sampledLogger.warn("warning {}", 2);
+
+		assertEquals(List.of("warning 0", "warning 1"), messages());
+	}
+
+	@Test
+	void noSummaryWhenNothingWasSuppressed() {
+		sampledLogger.warn("warning {}", 0);
+		now.addAndGet(WINDOW_MS);
+		sampledLogger.warn("warning {}", 1);
+
+		assertEquals(List.of("warning 0", "warning 1"), messages());
+	}
+
+	private List<String> messages() {
+		return appender.list.stream().map(ILoggingEvent::getFormattedMessage).toList();
+	}
+}
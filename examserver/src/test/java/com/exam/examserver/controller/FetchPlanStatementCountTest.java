@@ -0,0 +1,141 @@
+package com.exam.examserver.controller;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.exam.examserver.model.exam.category.Category;
+import com.exam.examserver.model.exam.question.Question;
+import com.exam.examserver.model.exam.quiz.Quiz;
+import com.exam.examserver.model.exam.quizattempt.QuizAttempt;
+import com.exam.examserver.model.questionattempt.QuestionAttempt;
+import com.exam.examserver.model.user.User;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * SQL statements per read endpoint, counted with Hibernate statistics.
+ *
+ * <p>Each endpoint is called against a small and a large scratch catalog. With the fetch plans
+ * in place the statement count must not depend on the catalog size: a lazy association walked
+ * row by row would show up as extra statements on the large one. Everything runs in one
+ * transaction that is rolled back.</p>
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@Transactional
+@WithMockUser(authorities = "ADMIN")
+class FetchPlanStatementCountTest {
+
+	// Page query, count query and a few lookups; an N+1 pattern goes far past this
+	private static final long MAX_STATEMENTS_PER_REQUEST = 6;
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private EntityManager entityManager;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private record Catalog(Long categoryId, Long quizId, Long userId) {
+	}
+
+	@Test
+	void statementCountDoesNotGrowWithTheCatalog() throws Exception {
+		Catalog small = createCatalog(2, 2);
+		Catalog large = createCatalog(30, 40);
+
+		List<Function<Catalog, String>> endpoints = List.of(
+				c -> "/category/",
+				c -> "/category/paged?size=50",
+				c -> "/category/" + c.categoryId(),
+				c -> "/quiz/" + c.quizId(),
+				c -> "/quiz/paged?size=50&categoryId=" + c.categoryId(),
+				c -> "/question/quiz/" + c.quizId(),
+				c -> "/question/quiz/" + c.quizId() + "/paged?size=50",
+				c -> "/quiz-attempts/last/" + c.userId());
+
+		List<Executable> checks = new ArrayList<>();
+		for (Function<Catalog, String> endpoint : endpoints) {
+			String smallUrl = endpoint.apply(small);
+			String largeUrl = endpoint.apply(large);
+			long smallStatements = countStatements(smallUrl);
+			long largeStatements = countStatements(largeUrl);
+			checks.add(() -> assertEquals(smallStatements, largeStatements,
+					"Statements of " + smallUrl + " vs " + largeUrl));
+			checks.add(() -> assertTrue(largeStatements <= MAX_STATEMENTS_PER_REQUEST,
+					largeUrl + " ran " + largeStatements + " statements"));
+		}
+		assertAll(checks);
+	}
+
+	private long countStatements(String url) throws Exception {
+		// Nothing may come from the persistence context of a previous request
+		entityManager.clear();
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		mockMvc.perform(get(url)).andExpect(status().is2xxSuccessful());
+		return statistics.getPrepareStatementCount();
+	}
+
+	/**
+	 * Creates a category with the given number of quizzes and questions per quiz, and a user
+	 * with one attempt that answered every question of the first quiz.
+	 */
+	private Catalog createCatalog(int quizzes, int questionsPerQuiz) {
+		Category category = new Category(null, "Fetch plan category " + quizzes, "Scratch category");
+		entityManager.persist(category);
+
+		Quiz firstQuiz = null;
+		List<Question> firstQuestions = new ArrayList<>();
+		for (int q = 0; q < quizzes; q++) {
+			Quiz quiz = new Quiz(null, "Fetch plan quiz " + q, "Scratch quiz", 10, 5, true);
+			quiz.setCategory(category);
+			entityManager.persist(quiz);
+			for (int i = 0; i < questionsPerQuiz; i++) {
+				Question question = new Question(null, "Question " + i, null, "A", "B", "C", "D", "A", quiz);
+				entityManager.persist(question);
+				if (q == 0) {
+					firstQuestions.add(question);
+				}
+			}
+			if (q == 0) {
+				firstQuiz = quiz;
+			}
+		}
+
+		User user = new User();
+		user.setUsername("fetch-plan-" + System.nanoTime());
+		user.setPassword("unused");
+		entityManager.persist(user);
+		QuizAttempt attempt = new QuizAttempt(firstQuiz, user, 0, 0, firstQuestions.size());
+		for (Question question : firstQuestions) {
+			QuestionAttempt answer = new QuestionAttempt(attempt, question, "A", true);
+			answer.setQuizId(firstQuiz.getqId());
+			attempt.getQuestionAttempts().add(answer);
+		}
+		entityManager.persist(attempt);
+
+		entityManager.flush();
+		entityManager.clear();
+		return new Catalog(category.getCid(), firstQuiz.getqId(), user.getId());
+	}
+}
@@ -0,0 +1,138 @@
+package com.exam.examserver.search;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import com.exam.examserver.model.exam.category.Category;
+import com.exam.examserver.model.exam.question.Question;
+import com.exam.examserver.model.exam.quiz.Quiz;
+import com.exam.examserver.repository.CategoryRepository;
+import com.exam.examserver.repository.QuestionRepository;
+import com.exam.examserver.repository.QuizRepository;
+
+/**
+ * Compares {@link FullTextSearchStrategy} with {@link LikeSearchStrategy} on a scratch quiz.
+ *
+ * <p>Needs a MySQL database that can create the full-text indexes, so it only runs with
+ * {@code -Dexam.tests.fulltext=true}. InnoDB only indexes committed rows, so the data is
+ * committed and deleted afterwards instead of being rolled back.</p>
+ *
+ * <p>The terms are whole words or word prefixes, where both strategies must return the same
+ * rows. They differ by design elsewhere: {@code LIKE} also matches inside words and needs
+ * multi-word terms to be contiguous, while full-text search drops words shorter than the
+ * minimum token size.</p>
+ */
+@SpringBootTest(properties = "exam.search.mode=fulltext")
+@EnabledIfSystemProperty(named = "exam.tests.fulltext", matches = "true")
+class FullTextLikeEquivalenceTest {
+
+	private static final Pageable ALL = PageRequest.of(0, 100);
+
+	@Autowired
+	private FullTextSearchStrategy fullTextSearch;
+	@Autowired
+	private LikeSearchStrategy likeSearch;
+	@Autowired
+	private CategoryRepository categoryRepository;
+	@Autowired
+	private QuizRepository quizRepository;
+	@Autowired
+	private QuestionRepository questionRepository;
+
+	private Category category;
+	private Quiz quiz;
+
+	@BeforeEach
+	void createCatalog() {
+		assumeTrue(fullTextSearch.isAvailable(), "Full-text indexes could not be created");
+
+		category = categoryRepository.save(new Category(null, "Full-text equivalence", "Scratch category"));
+		quiz = saveQuiz("Geography basics", "Capitals and countries");
+		saveQuiz("Physics basics", "Laws of motion");
+		saveQuiz("Biology basics", "Cells and photosynthesis");
+
+		List<Question> questions = new ArrayList<>();
+		questions.add(question("What is the capital of France?", "Paris", "Lyon", "Marseille", "Nice", "Paris"));
+		questions.add(question("Which planet is known as the red planet?", "Mars", "Venus", "Jupiter", "Saturn", "Mars"));
+		questions.add(question("Who formulated the laws of motion?", "Newton", "Einstein", "Galileo", "Kepler", "Newton"));
+		questions.add(question("Photosynthesis happens in which organelle?", "Chloroplast", "Mitochondria", "Nucleus",
+				"Ribosome", "Chloroplast"));
+		questions.add(question("Name the capitals of Spain and Italy", "Madrid and Rome", "Lisbon and Milan",
+				"Seville and Naples", "Bilbao and Turin", "Madrid and Rome"));
+		questions.add(question("Newton second law relates force to what?", "Acceleration", "Velocity", "Mass", "Energy",
+				"Acceleration"));
+		questionRepository.saveAll(questions);
+	}
+
+	@AfterEach
+	void deleteCatalog() {
+		if (category != null) {
+			categoryRepository.deleteById(category.getCid());
+		}
+	}
+
+	@Test
+	void questionSearchesMatchLike() {
+		assertSameResults(List.of("capital", "Paris", "NEWTON", "law", "planet", "red planet", "mars",
+				"photosynthesis", "Chloroplast", "acceleration", "quantum"),
+				term -> likeSearch.searchQuestions(quiz.getqId(), term, ALL),
+				term -> fullTextSearch.searchQuestions(quiz.getqId(), term, ALL),
+				Question::getQuesId);
+	}
+
+	@Test
+	void quizSearchesMatchLike() {
+		assertSameResults(List.of("basics", "physics", "capitals", "Photosynthesis", "motion", "chemistry"),
+				term -> likeSearch.searchQuizzes(term, category.getCid(), null, ALL),
+				term -> fullTextSearch.searchQuizzes(term, category.getCid(), null, ALL),
+				Quiz::getqId);
+	}
+
+	private <T> void assertSameResults(List<String> terms, Function<String, Page<T>> like,
+			Function<String, Page<T>> fullText, Function<T, Long> id) {
+		List<Executable> checks = new ArrayList<>();
+		for (String term : terms) {
+			Page<T> expected = like.apply(term);
+			Page<T> actual = fullText.apply(term);
+			checks.add(() -> assertEquals(ids(expected, id), ids(actual, id), "Results for '" + term + "'"));
+			checks.add(() -> assertEquals(expected.getTotalElements(), actual.getTotalElements(),
+					"Total for '" + term + "'"));
+		}
+		assertAll(checks);
+	}
+
+	private static <T> Set<Long> ids(Page<T> page, Function<T, Long> id) {
+		Set<Long> ids = new TreeSet<>();
+		page.forEach(item -> ids.add(id.apply(item)));
+		return ids;
+	}
+
+	private Quiz saveQuiz(String title, String description) {
+		Quiz newQuiz = new Quiz(null, title, description, 10, 5, true);
+		newQuiz.setCategory(category);
+		return quizRepository.save(newQuiz);
+	}
+
+	private Question question(String content, String option1, String option2, String option3, String option4,
+			String answer) {
+		return new Question(null, content, null, option1, option2, option3, option4, answer, quiz);
+	}
+}
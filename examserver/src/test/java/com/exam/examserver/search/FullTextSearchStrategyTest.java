@@ -0,0 +1,66 @@
+package com.exam.examserver.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class FullTextSearchStrategyTest {
+
+	private final FullTextSearchStrategy strategy = new FullTextSearchStrategy(3, true, true);
+
+	@Test
+	void wordsAreFoldedAndDeduplicatedInOrder() {
+		assertEquals(List.of("programacion", "java"), strategy.words("Programación JAVA programacion"));
+	}
+
+	@Test
+	void wordsDropBooleanOperators() {
+		assertEquals(List.of("java", "spring", "boot"), strategy.words("+java -spring \"boot\"* (@~<>)"));
+	}
+
+	@Test
+	void wordsSkipTokensShorterThanTheMinimum() {
+		assertEquals(List.of("the", "capital"), strategy.words("of the capital"));
+		assertEquals(List.of(), strategy.words("a to"));
+		assertEquals(List.of(), strategy.words(null));
+		assertEquals(List.of(), strategy.words("  "));
+	}
+
+	@Test
+	void minimumTokenLengthIsConfigurable() {
+		FullTextSearchStrategy strict = new FullTextSearchStrategy(4, true, true);
+
+		assertEquals(List.of("capital"), strict.words("the capital"));
+	}
+
+	@Test
+	void booleanQueryRequiresEveryWordAsAPrefix() {
+		assertEquals("+java* +spring*", strategy.booleanQuery(List.of("java", "spring")));
+	}
+
+	@Test
+	void booleanQueryHonoursTheOperatorSettings() {
+		assertEquals("java spring", new FullTextSearchStrategy(3, false, false).booleanQuery(List.of("java", "spring")));
+		assertEquals("+java +spring", new FullTextSearchStrategy(3, true, false).booleanQuery(List.of("java", "spring")));
+		assertEquals("java* spring*", new FullTextSearchStrategy(3, false, true).booleanQuery(List.of("java", "spring")));
+	}
+
+	@Test
+	void booleanQueryOfASingleWordHasNoSeparator() {
+		assertEquals("+java*", strategy.booleanQuery(List.of("java")));
+	}
+
+	@Test
+	void hasNumberDetectsWordsMadeOfDigits() {
+		assertTrue(FullTextSearchStrategy.hasNumber("10"));
+		assertTrue(FullTextSearchStrategy.hasNumber("quiz 2024"));
+		assertFalse(FullTextSearchStrategy.hasNumber("java17"));
+		// Punctuation splits words, so a decimal is two numbers
+		assertTrue(FullTextSearchStrategy.hasNumber("3.5"));
+		assertFalse(FullTextSearchStrategy.hasNumber(null));
+	}
+}
@@ -0,0 +1,104 @@
+package com.exam.examserver.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.exam.examserver.model.SequenceIds;
+import com.exam.examserver.model.dto.QuestionImportResultDTO;
+import com.exam.examserver.model.exam.category.Category;
+import com.exam.examserver.model.exam.quiz.Quiz;
+import com.exam.examserver.repository.CategoryRepository;
+import com.exam.examserver.repository.QuizRepository;
+import com.exam.examserver.service.IQuestionImportService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Throughput of a 1,000-question JSON import, the work behind {@code /question/upload-json}.
+ *
+ * <p>Writes to the configured database, so it only runs with {@code -Dexam.benchmarks=true}.
+ * The questions go into a scratch category and quiz that are deleted afterwards. To get the
+ * unbatched baseline, run it again with
+ * {@code -Dspring.jpa.properties.hibernate.jdbc.batch_size=1} and compare the rows/sec.</p>
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@EnabledIfSystemProperty(named = "exam.benchmarks", matches = "true")
+class QuestionImportBenchmarkTest {
+
+	private static final int QUESTIONS = 1000;
+
+	@Autowired
+	private IQuestionImportService questionImportService;
+	@Autowired
+	private CategoryRepository categoryRepository;
+	@Autowired
+	private QuizRepository quizRepository;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Value("${spring.jpa.properties.hibernate.jdbc.batch_size:1}")
+	private int batchSize;
+
+	private Category category;
+	private Quiz quiz;
+
+	@BeforeEach
+	void createQuiz() {
+		category = categoryRepository.save(new Category(null, "Import benchmark", "Scratch category"));
+		Quiz newQuiz = new Quiz(null, "Import benchmark", "Scratch quiz", 100, 10, false);
+		newQuiz.setCategory(category);
+		quiz = quizRepository.save(newQuiz);
+	}
+
+	@AfterEach
+	void deleteQuiz() {
+		categoryRepository.deleteById(category.getCid());
+	}
+
+	@Test
+	void importsThousandQuestions() throws Exception {
+		byte[] json = questionsJson(QUESTIONS);
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		long start = System.nanoTime();
+		QuestionImportResultDTO result = questionImportService.importQuestions(new ByteArrayInputStream(json), quiz.getqId());
+		long elapsedNanos = System.nanoTime() - start;
+
+		assertEquals(QUESTIONS, result.getImported());
+		long statements = statistics.getPrepareStatementCount();
+		System.out.printf("Imported %d questions in %d ms: %.0f rows/sec, %d prepared statements (batch size %d)%n",
+				QUESTIONS, elapsedNanos / 1_000_000, QUESTIONS * 1e9 / elapsedNanos, statements, batchSize);
+
+		if (batchSize >= SequenceIds.ALLOCATION_SIZE) {
+			// One statement per insert batch plus the select and update of each sequence round trip
+			long expected = 3L * QUESTIONS / SequenceIds.ALLOCATION_SIZE;
+			assertTrue(statements <= expected + 20, "Expected batched inserts, got " + statements + " statements");
+		}
+	}
+
+	private static byte[] questionsJson(int count) {
+		StringBuilder json = new StringBuilder("[");
+		for (int i = 0; i < count; i++) {
+			if (i > 0) {
+				json.append(',');
+			}
+			json.append("{\"content\":\"Benchmark question ").append(i)
+					.append("\",\"option1\":\"A\",\"option2\":\"B\",\"option3\":\"C\",\"option4\":\"D\",\"answer\":\"A\"}");
+		}
+		return json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+	}
+}